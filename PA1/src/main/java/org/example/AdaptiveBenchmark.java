@@ -0,0 +1,241 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sorting analysis with a time budget per (algorithm, input shape, size) cell.
+ * <p>
+ * Each cell gets one untimed warm-up run, then is sampled until the 95% confidence interval of its
+ * mean is within {@code targetRelativeError} of the mean, or until its budget is spent; at least
+ * {@link #MIN_SAMPLES} runs are always timed so that no cell rests on a single cold sample.
+ * Before a cell is run, a power law {@code a * n^b} is fitted to the cells already measured for that
+ * algorithm and shape; once the curve predicts that the warm-up and {@link #MIN_SAMPLES} runs would
+ * not fit into the budget, that
+ * algorithm and shape are not run again and every larger size is reported as a {@link Projection}.
+ * This keeps quadratic sorts from dominating a scan into the tens of millions.
+ */
+public class AdaptiveBenchmark {
+
+    /** Runs timed for a cell before its confidence interval or budget is checked. */
+    static final int MIN_SAMPLES = 3;
+    static final int MAX_SAMPLES = 200;
+    /** Most recent measured cells used to fit the power law. */
+    static final int FIT_POINTS = 4;
+    /** Cells faster than this are too noisy to fit. */
+    static final double MIN_FIT_MILLIS = 0.05;
+
+    /** Two-sided 95% Student t critical values for 1 to 30 degrees of freedom. */
+    private static final double[] T_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+
+    /** A cell that was not run; its time comes from the fitted curve {@code a * n^b}. */
+    public static class Projection {
+        public final String algorithm;
+        public final String shape;
+        public final int size;
+        public final double a;
+        public final double b;
+
+        Projection(String algorithm, String shape, int size, double a, double b) {
+            this.algorithm = algorithm;
+            this.shape = shape;
+            this.size = size;
+            this.a = a;
+            this.b = b;
+        }
+
+        public double predictedMillis() {
+            return a * Math.pow(size, b);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s/%s/%d: ~%.1f ms (fit %.3g * n^%.2f)", algorithm, shape, size,
+                    predictedMillis(), a, b);
+        }
+    }
+
+    private final double cellBudgetMillis;
+    private final double targetRelativeError;
+    private final List<Projection> projections = new ArrayList<>();
+
+    /**
+     * @param cellBudgetMillis    time allowed for the runs of one cell
+     * @param targetRelativeError stop sampling once the 95% CI half-width is below this fraction of the mean
+     */
+    public AdaptiveBenchmark(double cellBudgetMillis, double targetRelativeError) {
+        this.cellBudgetMillis = cellBudgetMillis;
+        this.targetRelativeError = targetRelativeError;
+    }
+
+    public List<Projection> getProjections() {
+        return projections;
+    }
+
+    /**
+     * Measures every algorithm on every shape for the given ascending sizes. Sizes beyond the
+     * dataset are filled by repeating it.
+     */
+    public BenchmarkReport run(int[] csvData, String[] algorithms, String[] shapes, int[] sizes) {
+        BenchmarkReport report = new BenchmarkReport();
+        Map<String, List<double[]>> measured = new HashMap<>();
+        Map<String, double[]> fits = new HashMap<>();
+
+        for (int size : sizes) {
+            System.out.println("Testing size: " + size);
+            int[] baseData = null;
+
+            for (String shape : shapes) {
+                int[] input = null;
+
+                for (String algorithm : algorithms) {
+                    String key = algorithm + "/" + shape;
+                    double[] fit = fits.get(key);
+                    if (fit == null) {
+                        fit = fitPowerLaw(measured.getOrDefault(key, List.of()));
+                        if (fit != null && fit[0] * Math.pow(size, fit[1]) * (MIN_SAMPLES + 1) > cellBudgetMillis) {
+                            fits.put(key, fit);
+                        } else {
+                            fit = null;
+                        }
+                    }
+                    if (fit != null) {
+                        projections.add(new Projection(algorithm, shape, size, fit[0], fit[1]));
+                        continue;
+                    }
+
+                    if (input == null) {
+                        if (baseData == null) baseData = repeat(csvData, size);
+                        input = SortBenchmark.shapeInput(Arrays.copyOf(baseData, size), shape);
+                    }
+                    double[] samples = sample(algorithm, input);
+                    BenchmarkReport.Measurement m = new BenchmarkReport.Measurement(algorithm, shape, size, samples, null);
+                    report.add(m);
+                    measured.computeIfAbsent(key, k -> new ArrayList<>()).add(new double[]{size, m.mean()});
+                }
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Sorts one untimed copy of {@code input} to warm up, then times copies until the confidence
+     * interval is tight or, after {@link #MIN_SAMPLES} runs, the budget is spent.
+     */
+    private double[] sample(String algorithm, int[] input) {
+        double[] samples = new double[MAX_SAMPLES];
+        int n = 0;
+        double spent = 0;
+        int[] working = new int[input.length];
+
+        System.arraycopy(input, 0, working, 0, input.length);
+        Main.applySort(algorithm, working);
+
+        while (n < MAX_SAMPLES) {
+            System.arraycopy(input, 0, working, 0, input.length);
+            long startTime = System.nanoTime();
+            Main.applySort(algorithm, working);
+            samples[n] = (System.nanoTime() - startTime) / 1_000_000.0;
+            spent += samples[n++];
+
+            if (n < MIN_SAMPLES) continue;
+            if (spent >= cellBudgetMillis) break;
+            if (relativeHalfWidth(samples, n) <= targetRelativeError) break;
+        }
+        return Arrays.copyOf(samples, n);
+    }
+
+    /** Half-width of the 95% confidence interval of the mean, relative to the mean. */
+    static double relativeHalfWidth(double[] samples, int n) {
+        double mean = 0;
+        for (int i = 0; i < n; i++) mean += samples[i];
+        mean /= n;
+        double sum = 0;
+        for (int i = 0; i < n; i++) sum += (samples[i] - mean) * (samples[i] - mean);
+        double stdDev = Math.sqrt(sum / (n - 1));
+        double t = n - 1 <= T_95.length ? T_95[n - 2] : 1.96;
+        return mean == 0 ? 0 : t * stdDev / Math.sqrt(n) / mean;
+    }
+
+    /**
+     * Least-squares fit of {@code log t = log a + b log n} over the last {@link #FIT_POINTS} cells
+     * slower than {@link #MIN_FIT_MILLIS}.
+     *
+     * @return {@code {a, b}}, or {@code null} with fewer than two usable cells
+     */
+    static double[] fitPowerLaw(List<double[]> points) {
+        int count = 0;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (int i = points.size() - 1; i >= 0 && count < FIT_POINTS; i--) {
+            double[] p = points.get(i);
+            if (p[1] < MIN_FIT_MILLIS) continue;
+            double x = Math.log(p[0]);
+            double y = Math.log(p[1]);
+            sx += x;
+            sy += y;
+            sxx += x * x;
+            sxy += x * y;
+            count++;
+        }
+        if (count < 2) return null;
+
+        double denominator = count * sxx - sx * sx;
+        if (denominator == 0) return null;
+        double b = (count * sxy - sx * sy) / denominator;
+        double logA = (sy - b * sx) / count;
+        return new double[]{Math.exp(logA), b};
+    }
+
+    static int[] repeat(int[] data, int size) {
+        int[] result = new int[size];
+        if (data.length == 0) return result;
+        for (int from = 0; from < size; from += data.length) {
+            System.arraycopy(data, 0, result, from, Math.min(data.length, size - from));
+        }
+        return result;
+    }
+
+    /** Sizes from {@code from} up to {@code to}, doubling each step. */
+    public static int[] doublingSizes(int from, int to) {
+        List<Integer> sizes = new ArrayList<>();
+        for (long size = from; size <= to; size *= 2) sizes.add((int) size);
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public void printSummary(BenchmarkReport report) {
+        System.out.println("\n=== Adaptive Analysis ===");
+        System.out.println("Algorithm\tShape\tInput Size\tRuns\tMean ms\tCI95 %");
+        for (BenchmarkReport.Measurement m : report.getMeasurements()) {
+            double[] s = m.samplesMillis;
+            double ci = s.length < 2 ? Double.NaN : relativeHalfWidth(s, s.length) * 100;
+            System.out.printf("%s\t%s\t%d\t%d\t%.3f\t%.1f%n", m.algorithm, m.shape, m.size, s.length, m.mean(), ci);
+        }
+
+        if (!projections.isEmpty()) {
+            System.out.println("\n=== Projected (over budget) ===");
+            for (Projection p : projections) {
+                System.out.println(p);
+            }
+        }
+    }
+
+    public void writeProjections(Path path) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            out.println("algorithm,shape,size,predicted_ms,a,b");
+            for (Projection p : projections) {
+                out.println(p.algorithm + "," + p.shape + "," + p.size + "," + p.predictedMillis() + "," + p.a + "," + p.b);
+            }
+        }
+    }
+}
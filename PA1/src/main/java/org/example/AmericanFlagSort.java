@@ -0,0 +1,167 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * In-place MSD radix sort (American flag sort) on 8-bit digits.
+ * <p>
+ * Each level counts the digit of every element in its range, then moves elements straight into
+ * their buckets by following permutation cycles, so no copy of the array is ever made. The only
+ * extra memory is a 256-entry count table and a 256-entry cursor table per level, allocated once
+ * per call. Buckets smaller than {@link #INSERTION_THRESHOLD} are finished with insertion sort.
+ * The sign bit is flipped when digits are taken so negative values order correctly.
+ */
+public final class AmericanFlagSort {
+
+    static final int DIGIT_BITS = 8;
+    static final int RADIX = 1 << DIGIT_BITS;
+    static final int DIGIT_MASK = RADIX - 1;
+    /** Buckets below this size are finished with insertion sort. */
+    static final int INSERTION_THRESHOLD = 32;
+
+    private AmericanFlagSort() {
+    }
+
+    public static void sort(int[] a) {
+        int levels = Integer.SIZE / DIGIT_BITS;
+        sort(a, 0, a.length, Integer.SIZE - DIGIT_BITS, new int[levels][RADIX], new int[levels][RADIX]);
+    }
+
+    public static void sort(long[] a) {
+        int levels = Long.SIZE / DIGIT_BITS;
+        sort(a, 0, a.length, Long.SIZE - DIGIT_BITS, new int[levels][RADIX], new int[levels][RADIX]);
+    }
+
+    /**
+     * Bytes of auxiliary memory used to sort keys of {@code elementBits} bits: the count and cursor
+     * tables for every level, independent of the array length.
+     */
+    public static long auxiliaryBytes(int elementBits) {
+        return 2L * (elementBits / DIGIT_BITS) * RADIX * Integer.BYTES;
+    }
+
+    static int digit(int value, int shift) {
+        return ((value ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK;
+    }
+
+    static int digit(long value, int shift) {
+        return (int) ((value ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK;
+    }
+
+    /**
+     * Sorts {@code a[lo, hi)} on the digit at {@code shift} and below.
+     * {@code ends} and {@code next} hold one table per level, indexed from the most significant digit.
+     */
+    private static void sort(int[] a, int lo, int hi, int shift, int[][] ends, int[][] next) {
+        if (hi - lo < INSERTION_THRESHOLD) {
+            HybridSort.insertionSort(a, lo, hi);
+            return;
+        }
+
+        int level = (Integer.SIZE - DIGIT_BITS - shift) / DIGIT_BITS;
+        int[] end = ends[level];
+        int[] cursor = next[level];
+
+        Arrays.fill(end, 0);
+        for (int i = lo; i < hi; i++) end[digit(a[i], shift)]++;
+
+        if (end[digit(a[lo], shift)] != hi - lo) {
+            int start = lo;
+            for (int b = 0; b < RADIX; b++) {
+                cursor[b] = start;
+                start += end[b];
+                end[b] = start;
+            }
+
+            for (int b = 0; b < RADIX; b++) {
+                while (cursor[b] < end[b]) {
+                    int value = a[cursor[b]];
+                    int d = digit(value, shift);
+                    while (d != b) {
+                        int displaced = a[cursor[d]];
+                        a[cursor[d]++] = value;
+                        value = displaced;
+                        d = digit(value, shift);
+                    }
+                    a[cursor[b]++] = value;
+                }
+            }
+        } else {
+            // every element shares this digit: the range is a single bucket
+            Arrays.fill(end, hi);
+        }
+
+        if (shift == 0) return;
+
+        int bucketStart = lo;
+        for (int b = 0; b < RADIX; b++) {
+            int bucketEnd = end[b];
+            if (bucketEnd - bucketStart > 1) {
+                sort(a, bucketStart, bucketEnd, shift - DIGIT_BITS, ends, next);
+            }
+            bucketStart = bucketEnd;
+        }
+    }
+
+    private static void sort(long[] a, int lo, int hi, int shift, int[][] ends, int[][] next) {
+        if (hi - lo < INSERTION_THRESHOLD) {
+            insertionSort(a, lo, hi);
+            return;
+        }
+
+        int level = (Long.SIZE - DIGIT_BITS - shift) / DIGIT_BITS;
+        int[] end = ends[level];
+        int[] cursor = next[level];
+
+        Arrays.fill(end, 0);
+        for (int i = lo; i < hi; i++) end[digit(a[i], shift)]++;
+
+        if (end[digit(a[lo], shift)] != hi - lo) {
+            int start = lo;
+            for (int b = 0; b < RADIX; b++) {
+                cursor[b] = start;
+                start += end[b];
+                end[b] = start;
+            }
+
+            for (int b = 0; b < RADIX; b++) {
+                while (cursor[b] < end[b]) {
+                    long value = a[cursor[b]];
+                    int d = digit(value, shift);
+                    while (d != b) {
+                        long displaced = a[cursor[d]];
+                        a[cursor[d]++] = value;
+                        value = displaced;
+                        d = digit(value, shift);
+                    }
+                    a[cursor[b]++] = value;
+                }
+            }
+        } else {
+            Arrays.fill(end, hi);
+        }
+
+        if (shift == 0) return;
+
+        int bucketStart = lo;
+        for (int b = 0; b < RADIX; b++) {
+            int bucketEnd = end[b];
+            if (bucketEnd - bucketStart > 1) {
+                sort(a, bucketStart, bucketEnd, shift - DIGIT_BITS, ends, next);
+            }
+            bucketStart = bucketEnd;
+        }
+    }
+
+    private static void insertionSort(long[] a, int begin, int end) {
+        for (int j = begin + 1; j < end; j++) {
+            long key = a[j];
+            int i = j - 1;
+            while (i >= begin && a[i] > key) {
+                a[i + 1] = a[i];
+                i--;
+            }
+            a[i + 1] = key;
+        }
+    }
+}
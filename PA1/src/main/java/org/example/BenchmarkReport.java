@@ -0,0 +1,219 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Machine-readable results of one sorting analysis run.
+ * Every (algorithm, input shape, size) cell keeps its raw per-run timings so that a later run
+ * can be compared against it statistically, together with JVM and hardware metadata.
+ */
+public class BenchmarkReport {
+
+    /** One measured cell of the analysis. */
+    public static class Measurement {
+        public final String algorithm;
+        public final String shape;
+        public final int size;
+        public final double[] samplesMillis;
+        public final SortMetrics metrics;
+
+        public Measurement(String algorithm, String shape, int size, double[] samplesMillis, SortMetrics metrics) {
+            this.algorithm = algorithm;
+            this.shape = shape;
+            this.size = size;
+            this.samplesMillis = samplesMillis;
+            this.metrics = metrics;
+        }
+
+        public double mean() {
+            double sum = 0;
+            for (double s : samplesMillis) sum += s;
+            return samplesMillis.length == 0 ? 0 : sum / samplesMillis.length;
+        }
+
+        public double stdDev() {
+            int n = samplesMillis.length;
+            if (n < 2) return 0;
+            double mean = mean();
+            double sum = 0;
+            for (double s : samplesMillis) sum += (s - mean) * (s - mean);
+            return Math.sqrt(sum / (n - 1));
+        }
+    }
+
+    private final Map<String, String> metadata;
+    private final List<Measurement> measurements = new ArrayList<>();
+
+    public BenchmarkReport() {
+        this(collectMetadata());
+    }
+
+    BenchmarkReport(Map<String, String> metadata) {
+        this.metadata = metadata;
+    }
+
+    public void add(Measurement measurement) {
+        measurements.add(measurement);
+    }
+
+    public List<Measurement> getMeasurements() {
+        return measurements;
+    }
+
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    public Measurement find(String algorithm, String shape, int size) {
+        for (Measurement m : measurements) {
+            if (m.algorithm.equals(algorithm) && m.shape.equals(shape) && m.size == size) return m;
+        }
+        return null;
+    }
+
+    static Map<String, String> collectMetadata() {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("timestamp", Instant.now().toString());
+        metadata.put("java.version", System.getProperty("java.version"));
+        metadata.put("java.vm.name", System.getProperty("java.vm.name"));
+        metadata.put("java.vm.version", System.getProperty("java.vm.version"));
+        metadata.put("jvm.args", String.join(" ", ManagementFactory.getRuntimeMXBean().getInputArguments()));
+        StringJoiner collectors = new StringJoiner(",");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) collectors.add(gc.getName());
+        metadata.put("gc", collectors.toString());
+        metadata.put("os.name", System.getProperty("os.name"));
+        metadata.put("os.arch", System.getProperty("os.arch"));
+        metadata.put("os.version", System.getProperty("os.version"));
+        metadata.put("cpu.count", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        metadata.put("cpu.model", cpuModel());
+        metadata.put("heap.max", String.valueOf(Runtime.getRuntime().maxMemory()));
+        return metadata;
+    }
+
+    private static String cpuModel() {
+        Path cpuInfo = Paths.get("/proc/cpuinfo");
+        if (!Files.isReadable(cpuInfo)) return "unknown";
+        try (BufferedReader br = Files.newBufferedReader(cpuInfo, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.startsWith("model name")) return line.substring(line.indexOf(':') + 1).trim();
+            }
+        } catch (IOException ignored) {
+        }
+        return "unknown";
+    }
+
+    /**
+     * Writes one row per cell. Metadata goes into leading {@code #} comment lines and the raw
+     * timings into a single {@code ;}-separated column, so the file can be read back as a baseline.
+     */
+    public void writeCsv(Path path) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, String> e : metadata.entrySet()) {
+                out.println("# " + e.getKey() + "=" + e.getValue().replace('\n', ' '));
+            }
+            out.println("algorithm,shape,size,runs,mean_ms,stddev_ms,alloc_bytes,gc_count,gc_ms,peak_heap_bytes,"
+                    + "comparisons,swaps,writes,samples_ms");
+            for (Measurement m : measurements) {
+                StringJoiner samples = new StringJoiner(";");
+                for (double s : m.samplesMillis) samples.add(String.valueOf(s));
+                SortMetrics x = m.metrics;
+                out.println(m.algorithm + "," + m.shape + "," + m.size + "," + m.samplesMillis.length + ","
+                        + m.mean() + "," + m.stdDev() + ","
+                        + (x == null ? ",,,,,," : x.allocatedBytes + "," + x.gcCount + "," + x.gcTimeMillis + ","
+                        + x.peakHeapDelta + "," + x.comparisons + "," + x.swaps + "," + x.writes) + ","
+                        + samples);
+            }
+        }
+    }
+
+    public void writeJson(Path path) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            out.println("{");
+            out.println("  \"metadata\": {");
+            int i = 0;
+            for (Map.Entry<String, String> e : metadata.entrySet()) {
+                out.print("    " + quote(e.getKey()) + ": " + quote(e.getValue()));
+                out.println(++i < metadata.size() ? "," : "");
+            }
+            out.println("  },");
+            out.println("  \"measurements\": [");
+            for (int m = 0; m < measurements.size(); m++) {
+                Measurement x = measurements.get(m);
+                StringJoiner samples = new StringJoiner(", ", "[", "]");
+                for (double s : x.samplesMillis) samples.add(String.valueOf(s));
+                out.print("    {\"algorithm\": " + quote(x.algorithm) + ", \"shape\": " + quote(x.shape)
+                        + ", \"size\": " + x.size + ", \"meanMs\": " + x.mean() + ", \"stdDevMs\": " + x.stdDev()
+                        + ", \"samplesMs\": " + samples);
+                if (x.metrics != null) {
+                    SortMetrics s = x.metrics;
+                    out.print(", \"allocatedBytes\": " + s.allocatedBytes + ", \"gcCount\": " + s.gcCount
+                            + ", \"gcTimeMs\": " + s.gcTimeMillis + ", \"peakHeapDeltaBytes\": " + s.peakHeapDelta
+                            + ", \"comparisons\": " + s.comparisons + ", \"swaps\": " + s.swaps
+                            + ", \"writes\": " + s.writes);
+                }
+                out.println(m + 1 < measurements.size() ? "}," : "}");
+            }
+            out.println("  ]");
+            out.println("}");
+        }
+    }
+
+    /** Reads a report written by {@link #writeCsv(Path)}; only the timings are restored. */
+    public static BenchmarkReport readCsv(Path path) throws IOException {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        BenchmarkReport report = new BenchmarkReport(metadata);
+
+        try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            boolean header = true;
+            while ((line = br.readLine()) != null) {
+                if (line.startsWith("# ")) {
+                    int eq = line.indexOf('=');
+                    if (eq > 0) metadata.put(line.substring(2, eq), line.substring(eq + 1));
+                    continue;
+                }
+                if (header) {
+                    header = false;
+                    continue;
+                }
+                String[] tokens = line.split(",", -1);
+                String[] rawSamples = tokens[tokens.length - 1].isEmpty() ? new String[0] : tokens[tokens.length - 1].split(";");
+                double[] samples = new double[rawSamples.length];
+                for (int i = 0; i < samples.length; i++) samples[i] = Double.parseDouble(rawSamples[i]);
+                report.add(new Measurement(tokens[0], tokens[1], Integer.parseInt(tokens[2]), samples, null));
+            }
+        }
+        return report;
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
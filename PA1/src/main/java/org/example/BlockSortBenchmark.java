@@ -0,0 +1,100 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the vectorized block kernel with its scalar network and with plain insertion sort,
+ * on whole blocks, as the base case of the hybrid sort, and as a block merge sort.
+ * Forks run with {@code jdk.incubator.vector} so that {@link BlockSorter#create()} can pick the SIMD kernel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BlockSortBenchmark {
+
+    @Param({"Vector", "Scalar", "Insertion"})
+    public String kernel;
+
+    @Param({"Random", "Sorted", "Reversed"})
+    public String shape;
+
+    @Param({"4096", "64000", "250000"})
+    public int size;
+
+    private BlockSorter sorter;
+    private int[] input;
+    private int[] working;
+
+    @Setup(Level.Trial)
+    public void loadInput() {
+        switch (kernel) {
+            case "Vector":
+                sorter = BlockSorter.create();
+                if (sorter instanceof ScalarBlockSorter) {
+                    throw new IllegalStateException("jdk.incubator.vector is not available in this JVM");
+                }
+                break;
+            case "Scalar": sorter = new ScalarBlockSorter(); break;
+            case "Insertion": sorter = new InsertionKernel(); break;
+            default: throw new IllegalArgumentException("Unknown kernel: " + kernel);
+        }
+
+        int[] csvData = Main.readCSV(System.getProperty(SortBenchmark.DATASET_PROPERTY, SortBenchmark.DEFAULT_DATASET), 2);
+        if (csvData.length < size) {
+            throw new IllegalStateException("Dataset has " + csvData.length + " values, need " + size);
+        }
+        input = SortBenchmark.shapeInput(Arrays.copyOf(csvData, size), shape);
+    }
+
+    @Setup(Level.Invocation)
+    public void copyInput() {
+        working = Arrays.copyOf(input, input.length);
+    }
+
+    @Benchmark
+    public int[] sortBlocks() {
+        int full = working.length / BlockSorter.BLOCK * BlockSorter.BLOCK;
+        for (int from = 0; from < full; from += BlockSorter.BLOCK) {
+            sorter.sortBlock(working, from);
+        }
+        return working;
+    }
+
+    @Benchmark
+    public int[] hybridBaseCase() {
+        HybridSort.sort(working, sorter);
+        return working;
+    }
+
+    @Benchmark
+    public int[] blockMergeSort() {
+        sorter.sort(working);
+        return working;
+    }
+
+    /** Baseline kernel: insertion sort per block and the scalar merge. */
+    private static final class InsertionKernel extends BlockSorter {
+        private final ScalarBlockSorter merger = new ScalarBlockSorter();
+
+        @Override
+        public String name() {
+            return "Insertion";
+        }
+
+        @Override
+        void sortBlock(int[] a, int from) {
+            HybridSort.insertionSort(a, from, from + BLOCK);
+        }
+
+        @Override
+        void merge(int[] src, int lo, int mid, int hi, int[] dst) {
+            merger.merge(src, lo, mid, hi, dst);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Sorting-network kernel for fixed blocks of {@link #BLOCK} ints plus a merge of sorted runs.
+ * <p>
+ * {@link #create()} returns the SIMD implementation built on {@code jdk.incubator.vector} when
+ * that module is in the boot layer (run with {@code --add-modules jdk.incubator.vector}) and the
+ * scalar bitonic network otherwise. Instances keep scratch buffers and are not thread-safe.
+ */
+public abstract class BlockSorter {
+
+    public static final int BLOCK = 64;
+
+    private final int[] pad = new int[BLOCK];
+
+    public static BlockSorter create() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (BlockSorter) Class.forName("org.example.VectorBlockSorter").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // fall through to the scalar kernel
+            }
+        }
+        return new ScalarBlockSorter();
+    }
+
+    public abstract String name();
+
+    /** Sorts {@code a[from, from + BLOCK)} ascending. */
+    abstract void sortBlock(int[] a, int from);
+
+    /**
+     * Merges the sorted runs {@code src[lo, mid)} and {@code src[mid, hi)} into {@code dst[lo, hi)}.
+     * Both run lengths are multiples of {@link #BLOCK}.
+     */
+    abstract void merge(int[] src, int lo, int mid, int hi, int[] dst);
+
+    /** Sorts a range of at most {@link #BLOCK} elements by padding it to a full block. */
+    public void sortRange(int[] a, int from, int to) {
+        int n = to - from;
+        System.arraycopy(a, from, pad, 0, n);
+        Arrays.fill(pad, n, BLOCK, Integer.MAX_VALUE);
+        sortBlock(pad, 0);
+        System.arraycopy(pad, 0, a, from, n);
+    }
+
+    /**
+     * Merge sort whose base case is the block kernel: every block is sorted by the network and
+     * the blocks are merged bottom-up with {@link #merge}.
+     */
+    public void sort(int[] a) {
+        int n = a.length;
+        if (n <= BLOCK) {
+            sortRange(a, 0, n);
+            return;
+        }
+
+        int m = (n + BLOCK - 1) / BLOCK * BLOCK;
+        int[] src = Arrays.copyOf(a, m);
+        Arrays.fill(src, n, m, Integer.MAX_VALUE);
+        int[] dst = new int[m];
+
+        for (int from = 0; from < m; from += BLOCK) {
+            sortBlock(src, from);
+        }
+
+        for (int width = BLOCK; width < m; width *= 2) {
+            for (int lo = 0; lo < m; lo += 2 * width) {
+                int mid = Math.min(lo + width, m);
+                int hi = Math.min(lo + 2 * width, m);
+                if (mid == hi) {
+                    System.arraycopy(src, lo, dst, lo, hi - lo);
+                } else {
+                    merge(src, lo, mid, hi, dst);
+                }
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+
+        System.arraycopy(src, 0, a, 0, n);
+    }
+}
@@ -0,0 +1,221 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Selected numeric columns of a CSV file held as parallel primitive arrays, one slot per data row,
+ * together with the byte offset and length of every row in the file.
+ * <p>
+ * Nothing is materialized per row: rows can be reordered by permuting the arrays, and written out
+ * in any order by copying their bytes straight from the mapped source file.
+ */
+public class ColumnarTable {
+
+    /** Stored for cells that are empty or do not parse as a number. */
+    public static final long MISSING = Long.MIN_VALUE;
+
+    private final Path path;
+    private final int[] columnIndexes;
+    private long[] rowOffsets;
+    private int[] rowLengths;
+    private long[][] columns;
+
+    private ColumnarTable(Path path, int[] columnIndexes, long[] rowOffsets, int[] rowLengths, long[][] columns) {
+        this.path = path;
+        this.columnIndexes = columnIndexes;
+        this.rowOffsets = rowOffsets;
+        this.rowLengths = rowLengths;
+        this.columns = columns;
+    }
+
+    /**
+     * Loads the given columns of every non-empty data row, parsing line-aligned chunks concurrently.
+     */
+    public static ColumnarTable load(String filePath, int parallelism, int... columnIndexes) throws IOException {
+        int maxIndex = Arrays.stream(columnIndexes).max().orElse(-1);
+        int[] slotOf = new int[maxIndex + 1];
+        Arrays.fill(slotOf, -1);
+        for (int slot = 0; slot < columnIndexes.length; slot++) slotOf[columnIndexes[slot]] = slot;
+
+        Path path = Paths.get(filePath);
+        Part[] parts = MappedCsvReader.readChunks(path, parallelism,
+                (buffer, position, skipHeader) -> parse(buffer, position, skipHeader, slotOf, columnIndexes.length),
+                Part[]::new);
+
+        MappedCsvReader.LongColumn[] offsets = new MappedCsvReader.LongColumn[parts.length];
+        MappedCsvReader.IntColumn[] lengths = new MappedCsvReader.IntColumn[parts.length];
+        for (int p = 0; p < parts.length; p++) {
+            offsets[p] = parts[p].offsets;
+            lengths[p] = parts[p].lengths;
+        }
+
+        long[][] columns = new long[columnIndexes.length][];
+        for (int slot = 0; slot < columns.length; slot++) {
+            MappedCsvReader.LongColumn[] slotParts = new MappedCsvReader.LongColumn[parts.length];
+            for (int p = 0; p < parts.length; p++) slotParts[p] = parts[p].columns[slot];
+            columns[slot] = MappedCsvReader.LongColumn.concat(slotParts);
+        }
+
+        return new ColumnarTable(path, columnIndexes.clone(), MappedCsvReader.LongColumn.concat(offsets),
+                MappedCsvReader.IntColumn.concat(lengths), columns);
+    }
+
+    private static Part parse(ByteBuffer buffer, long position, boolean skipHeader, int[] slotOf, int slots) {
+        Part part = new Part(slots);
+        int limit = buffer.limit();
+        int pos = 0;
+        long[] parsed = new long[1];
+        boolean[] seen = new boolean[slots];
+
+        if (skipHeader) {
+            while (pos < limit && buffer.get(pos) != '\n') pos++;
+            pos++;
+        }
+
+        while (pos < limit) {
+            int lineStart = pos;
+            int field = 0;
+            Arrays.fill(seen, false);
+
+            while (true) {
+                int cellEnd = pos;
+                while (cellEnd < limit && buffer.get(cellEnd) != ',' && buffer.get(cellEnd) != '\n') cellEnd++;
+
+                int slot = field < slotOf.length ? slotOf[field] : -1;
+                if (slot >= 0) {
+                    boolean valid = MappedCsvReader.parseCell(buffer, pos, cellEnd, MISSING + 1, Long.MAX_VALUE, parsed);
+                    part.columns[slot].add(valid ? parsed[0] : MISSING);
+                    seen[slot] = true;
+                }
+
+                pos = cellEnd + 1;
+                field++;
+                if (cellEnd >= limit || buffer.get(cellEnd) == '\n') break;
+            }
+
+            int lineEnd = Math.min(pos - 1, limit);
+            if (lineEnd == lineStart) {
+                // blank line: drop the cells recorded for it
+                for (int slot = 0; slot < slots; slot++) {
+                    if (seen[slot]) part.columns[slot].size--;
+                }
+                continue;
+            }
+
+            for (int slot = 0; slot < slots; slot++) {
+                if (!seen[slot]) part.columns[slot].add(MISSING);
+            }
+            part.offsets.add(position + lineStart);
+            part.lengths.add(lineEnd - lineStart);
+        }
+        return part;
+    }
+
+    public int rowCount() {
+        return rowLengths.length;
+    }
+
+    /**
+     * Values of the column with the given CSV index, one per row; {@link #MISSING} marks empty or bad cells.
+     */
+    public long[] column(int columnIndex) {
+        for (int slot = 0; slot < columnIndexes.length; slot++) {
+            if (columnIndexes[slot] == columnIndex) return columns[slot];
+        }
+        throw new IllegalArgumentException("Column " + columnIndex + " was not loaded");
+    }
+
+    /**
+     * Reorders every column and the row positions so that new row {@code i} is old row {@code order[i]}.
+     */
+    public void permute(int[] order) {
+        if (order.length != rowCount()) {
+            throw new IllegalArgumentException("Order has " + order.length + " entries for " + rowCount() + " rows");
+        }
+        rowOffsets = gather(rowOffsets, order);
+        int[] lengths = new int[order.length];
+        for (int i = 0; i < order.length; i++) lengths[i] = rowLengths[order[i]];
+        rowLengths = lengths;
+        for (int slot = 0; slot < columns.length; slot++) columns[slot] = gather(columns[slot], order);
+    }
+
+    static long[] gather(long[] values, int[] order) {
+        long[] result = new long[order.length];
+        for (int i = 0; i < order.length; i++) result[i] = values[order[i]];
+        return result;
+    }
+
+    /**
+     * Writes the header followed by the rows in the given order, copying the original row bytes.
+     */
+    public void writeRows(int[] order, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long[] bounds = MappedCsvReader.chunkBounds(in, 1);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[bounds.length - 1];
+            for (int c = 0; c < chunks.length; c++) {
+                chunks[c] = in.map(FileChannel.MapMode.READ_ONLY, bounds[c], bounds[c + 1] - bounds[c]);
+            }
+
+            ByteBuffer block = ByteBuffer.allocateDirect(ExternalSort.BLOCK_BYTES);
+            byte[] scratch = new byte[4096];
+
+            int headerLength = 0;
+            while (chunks.length > 0 && headerLength < chunks[0].limit() && chunks[0].get(headerLength) != '\n') {
+                headerLength++;
+            }
+            scratch = copy(chunks[0], 0, headerLength, block, out, scratch);
+
+            for (int row : order) {
+                long offset = rowOffsets[row];
+                int c = Arrays.binarySearch(bounds, offset);
+                if (c < 0) c = -c - 2;
+                scratch = copy(chunks[c], (int) (offset - bounds[c]), rowLengths[row], block, out, scratch);
+            }
+
+            block.flip();
+            while (block.hasRemaining()) out.write(block);
+        }
+    }
+
+    /** Appends {@code length} bytes of {@code src} plus a newline to the output block. */
+    private static byte[] copy(ByteBuffer src, int from, int length, ByteBuffer block, FileChannel out,
+                               byte[] scratch) throws IOException {
+        if (scratch.length < length + 1) scratch = new byte[length + 1];
+        src.get(from, scratch, 0, length);
+        scratch[length] = '\n';
+
+        int written = 0;
+        while (written <= length) {
+            if (!block.hasRemaining()) {
+                block.flip();
+                while (block.hasRemaining()) out.write(block);
+                block.clear();
+            }
+            int n = Math.min(block.remaining(), length + 1 - written);
+            block.put(scratch, written, n);
+            written += n;
+        }
+        return scratch;
+    }
+
+    /** Rows parsed from one chunk of the file. */
+    static final class Part {
+        final MappedCsvReader.LongColumn offsets = new MappedCsvReader.LongColumn();
+        final MappedCsvReader.IntColumn lengths = new MappedCsvReader.IntColumn();
+        final MappedCsvReader.LongColumn[] columns;
+
+        Part(int slots) {
+            columns = new MappedCsvReader.LongColumn[slots];
+            for (int slot = 0; slot < slots; slot++) columns[slot] = new MappedCsvReader.LongColumn();
+        }
+    }
+}
@@ -0,0 +1,496 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Instrumented copies of the sorts in {@link Main#SORT_NAMES}.
+ * They follow the same steps as the real implementations but count every key comparison,
+ * swap and array write, so the counts can be reported next to the timings.
+ * A swap is counted once as a swap and twice as a write.
+ */
+public class CountingSorts {
+
+    public long comparisons;
+    public long swaps;
+    public long writes;
+
+    public void apply(String sortType, int[] array) {
+        switch (sortType) {
+            case "Comb": combSort(array); break;
+            case "Insertion": insertionSort(array); break;
+            case "Shaker": shakerSort(array); break;
+            case "Shell": shellSort(array); break;
+            case "Radix": radixSort(array); break;
+            case "ParallelRadix": lsdRadixSort(array); break;
+            case "Hybrid": hybridSort(array); break;
+            case "AmericanFlag": americanFlagSort(array); break;
+            default: throw new IllegalArgumentException("No instrumented variant of " + sortType);
+        }
+    }
+
+    private boolean greater(int a, int b) {
+        comparisons++;
+        return a > b;
+    }
+
+    private boolean less(int a, int b) {
+        comparisons++;
+        return a < b;
+    }
+
+    private void swap(int[] arr, int i, int j) {
+        swaps++;
+        writes += 2;
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    private void write(int[] arr, int i, int value) {
+        writes++;
+        arr[i] = value;
+    }
+
+    public void combSort(int[] arr) {
+        int n = arr.length;
+        int gap = n;
+        boolean swapped = true;
+
+        while (gap != 1 || swapped) {
+            gap = (gap * 10) / 13;
+            if (gap < 1) gap = 1;
+
+            swapped = false;
+
+            for (int i = 0; i < n - gap; i++) {
+                if (greater(arr[i], arr[i + gap])) {
+                    swap(arr, i, i + gap);
+                    swapped = true;
+                }
+            }
+        }
+    }
+
+    public void insertionSort(int[] arr) {
+        for (int j = 1; j < arr.length; j++) {
+            int key = arr[j];
+            int i = j - 1;
+            while (i >= 0 && greater(arr[i], key)) {
+                write(arr, i + 1, arr[i]);
+                i = i - 1;
+            }
+            write(arr, i + 1, key);
+        }
+    }
+
+    public void shakerSort(int[] arr) {
+        boolean swapped = true;
+
+        while (swapped) {
+            swapped = false;
+            for (int i = 0; i < arr.length - 1; i++) {
+                if (greater(arr[i], arr[i + 1])) {
+                    swap(arr, i, i + 1);
+                    swapped = true;
+                }
+            }
+
+            if (!swapped) break;
+
+            swapped = false;
+            for (int i = arr.length - 2; i >= 0; i--) {
+                if (greater(arr[i], arr[i + 1])) {
+                    swap(arr, i, i + 1);
+                    swapped = true;
+                }
+            }
+        }
+    }
+
+    public void shellSort(int[] arr) {
+        int n = arr.length;
+        for (int gap = n / 2; gap > 0; gap /= 2) {
+            for (int i = gap; i < n; i++) {
+                int temp = arr[i];
+                int j = i;
+                while (j >= gap && greater(arr[j - gap], temp)) {
+                    write(arr, j, arr[j - gap]);
+                    j -= gap;
+                }
+                write(arr, j, temp);
+            }
+        }
+    }
+
+    /** Base-10 LSD radix sort as in {@link Main#radixSort(int[])}; every digit pass writes n elements. */
+    public void radixSort(int[] arr) {
+        int max = 0;
+        for (int value : arr) max = Math.max(max, value);
+        int d = (int) Math.log10(max) + 1;
+
+        int[] result = arr;
+        for (int pos = 1, divisor = 1; pos <= d; pos++, divisor *= 10) {
+            int[] output = new int[result.length];
+            int[] count = new int[10];
+            for (int value : result) count[(value / divisor) % 10]++;
+            for (int i = 1; i < 10; i++) count[i] += count[i - 1];
+            for (int i = result.length - 1; i >= 0; i--) {
+                write(output, --count[(result[i] / divisor) % 10], result[i]);
+            }
+            result = output;
+        }
+
+        if (result != arr) {
+            System.arraycopy(result, 0, arr, 0, arr.length);
+            writes += arr.length;
+        }
+    }
+
+    /** Sequential equivalent of {@link ParallelRadixSort}; chunking does not change the counts. */
+    public void lsdRadixSort(int[] arr) {
+        int n = arr.length;
+        if (n < 2) return;
+
+        int[] src = arr;
+        int[] dst = new int[n];
+        int[] count = new int[ParallelRadixSort.RADIX];
+
+        for (int shift = 0; shift < Integer.SIZE; shift += ParallelRadixSort.DIGIT_BITS) {
+            Arrays.fill(count, 0);
+            for (int value : src) count[ParallelRadixSort.digit(value, shift)]++;
+            if (count[ParallelRadixSort.digit(src[0], shift)] == n) continue;
+
+            int running = 0;
+            for (int b = 0; b < count.length; b++) {
+                int c = count[b];
+                count[b] = running;
+                running += c;
+            }
+            for (int value : src) {
+                write(dst, count[ParallelRadixSort.digit(value, shift)]++, value);
+            }
+
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+            writes += n;
+        }
+    }
+
+    /** Instrumented {@link HybridSort#sort(int[])}. */
+    public void hybridSort(int[] a) {
+        int n = a.length;
+        if (n < HybridSort.INSERTION_THRESHOLD) {
+            insertionSort(a, 0, n);
+            return;
+        }
+
+        int maxRuns = n / HybridSort.MIN_AVERAGE_RUN + 1;
+        int[] runs = new int[maxRuns + 1];
+        int count = 0;
+
+        for (int i = 0; i < n; ) {
+            int j = i + 1;
+            if (j < n && less(a[j], a[i])) {
+                while (j < n && less(a[j], a[j - 1])) j++;
+                for (int lo = i, hi = j - 1; lo < hi; lo++, hi--) swap(a, lo, hi);
+            } else {
+                while (j < n && !less(a[j], a[j - 1])) j++;
+            }
+
+            if (count == 0 || greater(a[i - 1], a[i])) {
+                if (count == maxRuns) {
+                    pdqsort(a, 0, n, 31 - Integer.numberOfLeadingZeros(n), true);
+                    return;
+                }
+                runs[count++] = i;
+            }
+            i = j;
+        }
+
+        if (count < 2) return;
+        runs[count] = n;
+
+        int[] src = a;
+        int[] dst = new int[n];
+        while (count > 1) {
+            int merged = 0;
+            for (int r = 0; r < count; r += 2) {
+                int lo = runs[r];
+                int mid = runs[r + 1];
+                if (r + 1 == count) {
+                    System.arraycopy(src, lo, dst, lo, mid - lo);
+                    writes += mid - lo;
+                } else {
+                    int hi = runs[r + 2];
+                    if (!greater(src[mid - 1], src[mid])) {
+                        System.arraycopy(src, lo, dst, lo, hi - lo);
+                        writes += hi - lo;
+                    } else {
+                        int i = lo, j = mid, k = lo;
+                        while (i < mid && j < hi) {
+                            write(dst, k++, less(src[j], src[i]) ? src[j++] : src[i++]);
+                        }
+                        while (i < mid) write(dst, k++, src[i++]);
+                        while (j < hi) write(dst, k++, src[j++]);
+                    }
+                }
+                runs[merged++] = lo;
+            }
+            runs[merged] = n;
+            count = merged;
+
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+            writes += n;
+        }
+    }
+
+    /** Instrumented {@link AmericanFlagSort#sort(int[])}; every cycle step is one write. */
+    public void americanFlagSort(int[] a) {
+        int levels = Integer.SIZE / AmericanFlagSort.DIGIT_BITS;
+        americanFlagSort(a, 0, a.length, Integer.SIZE - AmericanFlagSort.DIGIT_BITS,
+                new int[levels][AmericanFlagSort.RADIX], new int[levels][AmericanFlagSort.RADIX]);
+    }
+
+    private void americanFlagSort(int[] a, int lo, int hi, int shift, int[][] ends, int[][] next) {
+        if (hi - lo < AmericanFlagSort.INSERTION_THRESHOLD) {
+            insertionSort(a, lo, hi);
+            return;
+        }
+
+        int level = (Integer.SIZE - AmericanFlagSort.DIGIT_BITS - shift) / AmericanFlagSort.DIGIT_BITS;
+        int[] end = ends[level];
+        int[] cursor = next[level];
+
+        Arrays.fill(end, 0);
+        for (int i = lo; i < hi; i++) end[AmericanFlagSort.digit(a[i], shift)]++;
+
+        if (end[AmericanFlagSort.digit(a[lo], shift)] != hi - lo) {
+            int start = lo;
+            for (int b = 0; b < AmericanFlagSort.RADIX; b++) {
+                cursor[b] = start;
+                start += end[b];
+                end[b] = start;
+            }
+
+            for (int b = 0; b < AmericanFlagSort.RADIX; b++) {
+                while (cursor[b] < end[b]) {
+                    int value = a[cursor[b]];
+                    int d = AmericanFlagSort.digit(value, shift);
+                    while (d != b) {
+                        int displaced = a[cursor[d]];
+                        write(a, cursor[d]++, value);
+                        value = displaced;
+                        d = AmericanFlagSort.digit(value, shift);
+                    }
+                    write(a, cursor[b]++, value);
+                }
+            }
+        } else {
+            Arrays.fill(end, hi);
+        }
+
+        if (shift == 0) return;
+
+        int bucketStart = lo;
+        for (int b = 0; b < AmericanFlagSort.RADIX; b++) {
+            int bucketEnd = end[b];
+            if (bucketEnd - bucketStart > 1) {
+                americanFlagSort(a, bucketStart, bucketEnd, shift - AmericanFlagSort.DIGIT_BITS, ends, next);
+            }
+            bucketStart = bucketEnd;
+        }
+    }
+
+    private void pdqsort(int[] a, int begin, int end, int badAllowed, boolean leftmost) {
+        while (true) {
+            int size = end - begin;
+            if (size < HybridSort.INSERTION_THRESHOLD) {
+                insertionSort(a, begin, end);
+                return;
+            }
+
+            int half = size / 2;
+            if (size > HybridSort.NINTHER_THRESHOLD) {
+                sort3(a, begin, begin + half, end - 1);
+                sort3(a, begin + 1, begin + half - 1, end - 2);
+                sort3(a, begin + 2, begin + half + 1, end - 3);
+                sort3(a, begin + half - 1, begin + half, begin + half + 1);
+                swap(a, begin, begin + half);
+            } else {
+                sort3(a, begin + half, begin, end - 1);
+            }
+
+            if (!leftmost && !less(a[begin - 1], a[begin])) {
+                begin = partitionLeft(a, begin, end) + 1;
+                continue;
+            }
+
+            long result = partitionRight(a, begin, end);
+            int pivotPos = (int) (result >> 1);
+            boolean alreadyPartitioned = (result & 1) != 0;
+
+            int leftSize = pivotPos - begin;
+            int rightSize = end - (pivotPos + 1);
+
+            if (leftSize < size / 8 || rightSize < size / 8) {
+                if (--badAllowed == 0) {
+                    heapSort(a, begin, end);
+                    return;
+                }
+
+                if (leftSize >= HybridSort.INSERTION_THRESHOLD) {
+                    swap(a, begin, begin + leftSize / 4);
+                    swap(a, pivotPos - 1, pivotPos - leftSize / 4);
+                    if (leftSize > HybridSort.NINTHER_THRESHOLD) {
+                        swap(a, begin + 1, begin + (leftSize / 4 + 1));
+                        swap(a, begin + 2, begin + (leftSize / 4 + 2));
+                        swap(a, pivotPos - 2, pivotPos - (leftSize / 4 + 1));
+                        swap(a, pivotPos - 3, pivotPos - (leftSize / 4 + 2));
+                    }
+                }
+
+                if (rightSize >= HybridSort.INSERTION_THRESHOLD) {
+                    swap(a, pivotPos + 1, pivotPos + (1 + rightSize / 4));
+                    swap(a, end - 1, end - rightSize / 4);
+                    if (rightSize > HybridSort.NINTHER_THRESHOLD) {
+                        swap(a, pivotPos + 2, pivotPos + (2 + rightSize / 4));
+                        swap(a, pivotPos + 3, pivotPos + (3 + rightSize / 4));
+                        swap(a, end - 2, end - (1 + rightSize / 4));
+                        swap(a, end - 3, end - (2 + rightSize / 4));
+                    }
+                }
+            } else if (alreadyPartitioned
+                    && partialInsertionSort(a, begin, pivotPos)
+                    && partialInsertionSort(a, pivotPos + 1, end)) {
+                return;
+            }
+
+            pdqsort(a, begin, pivotPos, badAllowed, leftmost);
+            begin = pivotPos + 1;
+            leftmost = false;
+        }
+    }
+
+    private long partitionRight(int[] a, int begin, int end) {
+        int pivot = a[begin];
+        int first = begin;
+        int last = end;
+
+        while (less(a[++first], pivot)) ;
+
+        if (first - 1 == begin) {
+            while (first < last && !less(a[--last], pivot)) ;
+        } else {
+            while (!less(a[--last], pivot)) ;
+        }
+
+        boolean alreadyPartitioned = first >= last;
+
+        while (first < last) {
+            swap(a, first, last);
+            while (less(a[++first], pivot)) ;
+            while (!less(a[--last], pivot)) ;
+        }
+
+        int pivotPos = first - 1;
+        write(a, begin, a[pivotPos]);
+        write(a, pivotPos, pivot);
+        return (long) pivotPos << 1 | (alreadyPartitioned ? 1 : 0);
+    }
+
+    private int partitionLeft(int[] a, int begin, int end) {
+        int pivot = a[begin];
+        int first = begin;
+        int last = end;
+
+        while (less(pivot, a[--last])) ;
+
+        if (last + 1 == end) {
+            while (first < last && !less(pivot, a[++first])) ;
+        } else {
+            while (!less(pivot, a[++first])) ;
+        }
+
+        while (first < last) {
+            swap(a, first, last);
+            while (less(pivot, a[--last])) ;
+            while (!less(pivot, a[++first])) ;
+        }
+
+        int pivotPos = last;
+        write(a, begin, a[pivotPos]);
+        write(a, pivotPos, pivot);
+        return pivotPos;
+    }
+
+    private boolean partialInsertionSort(int[] a, int begin, int end) {
+        int moved = 0;
+        for (int cur = begin + 1; cur < end; cur++) {
+            int key = a[cur];
+            int i = cur - 1;
+            if (!greater(a[i], key)) continue;
+
+            while (i >= begin && greater(a[i], key)) {
+                write(a, i + 1, a[i]);
+                i--;
+            }
+            write(a, i + 1, key);
+            moved += cur - (i + 1);
+            if (moved > HybridSort.PARTIAL_INSERTION_LIMIT) return false;
+        }
+        return true;
+    }
+
+    private void insertionSort(int[] a, int begin, int end) {
+        for (int j = begin + 1; j < end; j++) {
+            int key = a[j];
+            int i = j - 1;
+            while (i >= begin && greater(a[i], key)) {
+                write(a, i + 1, a[i]);
+                i--;
+            }
+            write(a, i + 1, key);
+        }
+    }
+
+    private void heapSort(int[] a, int begin, int end) {
+        int n = end - begin;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(a, begin, i, n);
+        }
+        for (int last = n - 1; last > 0; last--) {
+            swap(a, begin, begin + last);
+            siftDown(a, begin, 0, last);
+        }
+    }
+
+    private void siftDown(int[] a, int base, int i, int n) {
+        int value = a[base + i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && greater(a[base + child + 1], a[base + child])) child++;
+            if (!less(value, a[base + child])) break;
+            write(a, base + i, a[base + child]);
+            i = child;
+        }
+        write(a, base + i, value);
+    }
+
+    private void sort3(int[] a, int i, int j, int k) {
+        if (less(a[j], a[i])) swap(a, i, j);
+        if (less(a[k], a[j])) swap(a, j, k);
+        if (less(a[j], a[i])) swap(a, i, j);
+    }
+}
@@ -0,0 +1,301 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * External merge sort for an integer CSV column that does not fit in the heap.
+ * <p>
+ * The column is streamed out of the CSV into a run buffer sized from the memory budget;
+ * every full buffer is sorted with {@link ParallelRadixSort} and spilled to a temp file as
+ * raw little-endian ints. The runs are then k-way merged through a primitive heap, in several
+ * passes if there are more runs than the budget allows readers for.
+ */
+public class ExternalSort {
+
+    public enum OutputFormat { BINARY, CSV }
+
+    /** Size of each channel buffer used while spilling and merging. */
+    static final int BLOCK_BYTES = 1 << 16;
+
+    private final long memoryBudget;
+    private final Path tempDir;
+
+    /**
+     * @param memoryBudget bytes the sort may use for run buffers and merge readers
+     * @param tempDir      directory that receives the spilled runs
+     */
+    public ExternalSort(long memoryBudget, Path tempDir) {
+        if (memoryBudget < 4L * BLOCK_BYTES) {
+            throw new IllegalArgumentException("Memory budget must be at least " + 4L * BLOCK_BYTES + " bytes");
+        }
+        this.memoryBudget = memoryBudget;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * Sorts one column of {@code csvPath} into {@code output}.
+     * The binary format holds the values as consecutive little-endian ints; the CSV format
+     * repeats the column header followed by one value per line.
+     */
+    public void sortColumn(String csvPath, int columnIndex, Path output, OutputFormat format) throws IOException {
+        // every temp file is listed here as soon as it is created, so a failure at any step removes them all
+        List<Path> created = new ArrayList<>();
+        List<Path> runs = new ArrayList<>();
+        try {
+            spillRuns(csvPath, columnIndex, runs, created);
+
+            int fanIn = (int) Math.max(2, Math.min(Integer.MAX_VALUE, memoryBudget / BLOCK_BYTES - 1));
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += fanIn) {
+                    List<Path> group = runs.subList(from, Math.min(runs.size(), from + fanIn));
+                    Path run = Files.createTempFile(tempDir, "run", ".bin");
+                    created.add(run);
+                    merged.add(run);
+                    try (RunWriter writer = new RunWriter(run, OutputFormat.BINARY, null)) {
+                        merge(group, writer);
+                    }
+                    for (Path p : group) Files.deleteIfExists(p);
+                }
+                runs = merged;
+            }
+
+            String header = format == OutputFormat.CSV ? readHeader(csvPath, columnIndex) : null;
+            try (RunWriter writer = new RunWriter(output, format, header)) {
+                merge(runs, writer);
+            }
+        } finally {
+            for (Path run : created) Files.deleteIfExists(run);
+        }
+    }
+
+    private void spillRuns(String csvPath, int columnIndex, List<Path> runs, List<Path> created) throws IOException {
+        // the radix sort needs a second buffer of the same length
+        int runLength = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1024, (memoryBudget - 2L * BLOCK_BYTES) / 8));
+        int[] buffer = new int[runLength];
+        int[] size = {0};
+
+        try {
+            MappedCsvReader.forEachInt(csvPath, columnIndex, value -> {
+                if (size[0] == buffer.length) {
+                    runs.add(spill(buffer, size[0], created));
+                    size[0] = 0;
+                }
+                buffer[size[0]++] = value;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (size[0] > 0 || runs.isEmpty()) {
+            runs.add(spill(buffer, size[0], created));
+        }
+    }
+
+    /**
+     * Sorts {@code buffer[0, size)} in place and writes it to a new temp file, which is added to
+     * {@code created} before anything is written so that a failed write does not leave it behind.
+     */
+    private Path spill(int[] buffer, int size, List<Path> created) {
+        try {
+            // a partial last run is sorted in place; a copy would take the memory budget over
+            ParallelRadixSort.sort(buffer, size, ForkJoinPool.commonPool());
+
+            Path path = Files.createTempFile(tempDir, "run", ".bin");
+            created.add(path);
+            try (RunWriter writer = new RunWriter(path, OutputFormat.BINARY, null)) {
+                for (int i = 0; i < size; i++) writer.write(buffer[i]);
+            }
+            return path;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * K-way merge of sorted runs. {@code heap} holds run indexes ordered by their current head value.
+     */
+    static void merge(List<Path> runs, RunWriter writer) throws IOException {
+        int k = runs.size();
+        RunReader[] readers = new RunReader[k];
+        int[] heads = new int[k];
+        int[] heap = new int[k];
+        int heapSize = 0;
+
+        try {
+            for (int r = 0; r < k; r++) {
+                readers[r] = new RunReader(runs.get(r));
+                if (readers[r].hasNext()) {
+                    heads[r] = readers[r].next();
+                    heap[heapSize] = r;
+                    siftUp(heap, heads, heapSize++);
+                }
+            }
+
+            while (heapSize > 0) {
+                int r = heap[0];
+                writer.write(heads[r]);
+                if (readers[r].hasNext()) {
+                    heads[r] = readers[r].next();
+                } else {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(heap, heads, heapSize);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) reader.close();
+            }
+        }
+    }
+
+    private static void siftUp(int[] heap, int[] heads, int i) {
+        int run = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heads[heap[parent]] <= heads[run]) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = run;
+    }
+
+    private static void siftDown(int[] heap, int[] heads, int size) {
+        if (size == 0) return;
+        int run = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heads[heap[child + 1]] < heads[heap[child]]) child++;
+            if (heads[run] <= heads[heap[child]]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = run;
+    }
+
+    private static String readHeader(String csvPath, int columnIndex) throws IOException {
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(csvPath), StandardCharsets.UTF_8)) {
+            String line = br.readLine();
+            String[] tokens = line == null ? new String[0] : line.split(",", -1);
+            return tokens.length > columnIndex ? tokens[columnIndex] : "value";
+        }
+    }
+
+    /** Sequential reader over a binary run file. */
+    static final class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer block = ByteBuffer.allocateDirect(BLOCK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        RunReader(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            block.flip();
+        }
+
+        boolean hasNext() throws IOException {
+            if (block.remaining() >= Integer.BYTES) return true;
+            block.compact();
+            while (block.position() < Integer.BYTES && channel.read(block) > 0) {
+                // keep reading until at least one full value is buffered
+            }
+            block.flip();
+            return block.remaining() >= Integer.BYTES;
+        }
+
+        int next() {
+            return block.getInt();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /** Buffered writer that emits values either as raw ints or as CSV lines. */
+    static final class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer block = ByteBuffer.allocateDirect(BLOCK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final boolean csv;
+        private final byte[] digits = new byte[11];
+
+        RunWriter(Path path, OutputFormat format, String header) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            csv = format == OutputFormat.CSV;
+            if (header != null) {
+                for (byte b : (header + "\n").getBytes(StandardCharsets.UTF_8)) {
+                    ensure(1);
+                    block.put(b);
+                }
+            }
+        }
+
+        void write(int value) throws IOException {
+            if (!csv) {
+                ensure(Integer.BYTES);
+                block.putInt(value);
+                return;
+            }
+
+            ensure(digits.length + 1);
+            long v = value;
+            if (v < 0) {
+                block.put((byte) '-');
+                v = -v;
+            }
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' + v % 10);
+                v /= 10;
+            } while (v > 0);
+            while (n > 0) block.put(digits[--n]);
+            block.put((byte) '\n');
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (block.remaining() < bytes) flush();
+        }
+
+        private void flush() throws IOException {
+            block.flip();
+            while (block.hasRemaining()) channel.write(block);
+            block.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Usage: ExternalSort &lt;input_csv&gt; &lt;column_index&gt; &lt;output_path&gt; [budget_mb] [csv|bin]
+     */
+    public static void main(String[] args) throws IOException {
+        long budget = args.length > 3 ? Long.parseLong(args[3]) << 20 : Runtime.getRuntime().maxMemory() / 2;
+        OutputFormat format = args.length > 4 && args[4].equalsIgnoreCase("bin") ? OutputFormat.BINARY : OutputFormat.CSV;
+        Path output = Paths.get(args[2]);
+        Path tempDir = output.toAbsolutePath().getParent();
+
+        new ExternalSort(budget, tempDir).sortColumn(args[0], Integer.parseInt(args[1]), output, format);
+    }
+}
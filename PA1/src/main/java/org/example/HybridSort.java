@@ -0,0 +1,344 @@
+package org.example;
+
+/**
+ * Adaptive sort that takes advantage of presorted input.
+ * <p>
+ * The array is first scanned for natural runs; strictly descending runs are reversed in place
+ * and the runs are merged bottom-up, so sorted, reversed and nearly sorted columns finish in
+ * close to linear time. When the runs turn out to be too short to pay off, the scan stops and
+ * the array is sorted with pattern-defeating quicksort, which uses insertion sort on small
+ * partitions and falls back to heapsort when its pivots keep going bad.
+ * <p>
+ * {@link #sort(int[], BlockSorter)} swaps the insertion-sort base case for a {@link BlockSorter}
+ * kernel, which finishes every range of up to {@link BlockSorter#BLOCK} elements with a sorting network.
+ */
+public final class HybridSort {
+
+    /** Partitions below this size are finished with insertion sort. */
+    static final int INSERTION_THRESHOLD = 24;
+    /** Partitions above this size pick their pivot with Tukey's ninther. */
+    static final int NINTHER_THRESHOLD = 128;
+    /** Average run length below which run merging is abandoned for quicksort. */
+    static final int MIN_AVERAGE_RUN = 32;
+    /** Elements moved by a partial insertion sort before it gives up. */
+    static final int PARTIAL_INSERTION_LIMIT = 8;
+
+    private HybridSort() {
+    }
+
+    public static void sort(int[] a) {
+        sort(a, null);
+    }
+
+    /**
+     * @param base kernel for small ranges, or {@code null} for insertion sort
+     */
+    public static void sort(int[] a, BlockSorter base) {
+        int n = a.length;
+        if (n < baseCaseSize(base)) {
+            finishSmall(a, 0, n, base);
+            return;
+        }
+
+        int maxRuns = n / MIN_AVERAGE_RUN + 1;
+        int[] runs = new int[maxRuns + 1];
+        int count = 0;
+
+        for (int i = 0; i < n; ) {
+            int j = i + 1;
+            if (j < n && a[j] < a[i]) {
+                while (j < n && a[j] < a[j - 1]) j++;
+                reverse(a, i, j);
+            } else {
+                while (j < n && a[j] >= a[j - 1]) j++;
+            }
+
+            // a reversed run may simply continue the previous one
+            if (count == 0 || a[i - 1] > a[i]) {
+                if (count == maxRuns) {
+                    pdqsort(a, 0, n, log2(n), true, base);
+                    return;
+                }
+                runs[count++] = i;
+            }
+            i = j;
+        }
+
+        if (count > 1) {
+            runs[count] = n;
+            mergeRuns(a, runs, count);
+        }
+    }
+
+    /**
+     * Merges neighbouring runs pairwise until one is left, ping-ponging between {@code a}
+     * and a single buffer. {@code runs[0..count]} holds the run starts followed by {@code n}.
+     */
+    private static void mergeRuns(int[] a, int[] runs, int count) {
+        int[] src = a;
+        int[] dst = new int[a.length];
+
+        while (count > 1) {
+            int merged = 0;
+            for (int r = 0; r < count; r += 2) {
+                int lo = runs[r];
+                if (r + 1 == count) {
+                    System.arraycopy(src, lo, dst, lo, runs[r + 1] - lo);
+                } else {
+                    merge(src, dst, lo, runs[r + 1], runs[r + 2]);
+                }
+                runs[merged++] = lo;
+            }
+            runs[merged] = a.length;
+            count = merged;
+
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, a.length);
+        }
+    }
+
+    private static void merge(int[] src, int[] dst, int lo, int mid, int hi) {
+        if (src[mid - 1] <= src[mid]) {
+            System.arraycopy(src, lo, dst, lo, hi - lo);
+            return;
+        }
+
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    /**
+     * Pattern-defeating quicksort on {@code a[begin, end)}.
+     *
+     * @param badAllowed number of highly unbalanced partitions tolerated before switching to heapsort
+     * @param leftmost   whether the range has no smaller element to its left
+     * @param base       kernel for small partitions, or {@code null} for insertion sort
+     */
+    static void pdqsort(int[] a, int begin, int end, int badAllowed, boolean leftmost, BlockSorter base) {
+        int small = baseCaseSize(base);
+        while (true) {
+            int size = end - begin;
+            if (size < small) {
+                finishSmall(a, begin, end, base);
+                return;
+            }
+
+            int half = size / 2;
+            if (size > NINTHER_THRESHOLD) {
+                sort3(a, begin, begin + half, end - 1);
+                sort3(a, begin + 1, begin + half - 1, end - 2);
+                sort3(a, begin + 2, begin + half + 1, end - 3);
+                sort3(a, begin + half - 1, begin + half, begin + half + 1);
+                swap(a, begin, begin + half);
+            } else {
+                sort3(a, begin + half, begin, end - 1);
+            }
+
+            // many elements equal to the pivot of the enclosing partition: put them left and skip them
+            if (!leftmost && a[begin - 1] >= a[begin]) {
+                begin = partitionLeft(a, begin, end) + 1;
+                continue;
+            }
+
+            long result = partitionRight(a, begin, end);
+            int pivotPos = (int) (result >> 1);
+            boolean alreadyPartitioned = (result & 1) != 0;
+
+            int leftSize = pivotPos - begin;
+            int rightSize = end - (pivotPos + 1);
+
+            if (leftSize < size / 8 || rightSize < size / 8) {
+                if (--badAllowed == 0) {
+                    heapSort(a, begin, end);
+                    return;
+                }
+
+                if (leftSize >= INSERTION_THRESHOLD) {
+                    swap(a, begin, begin + leftSize / 4);
+                    swap(a, pivotPos - 1, pivotPos - leftSize / 4);
+                    if (leftSize > NINTHER_THRESHOLD) {
+                        swap(a, begin + 1, begin + (leftSize / 4 + 1));
+                        swap(a, begin + 2, begin + (leftSize / 4 + 2));
+                        swap(a, pivotPos - 2, pivotPos - (leftSize / 4 + 1));
+                        swap(a, pivotPos - 3, pivotPos - (leftSize / 4 + 2));
+                    }
+                }
+
+                if (rightSize >= INSERTION_THRESHOLD) {
+                    swap(a, pivotPos + 1, pivotPos + (1 + rightSize / 4));
+                    swap(a, end - 1, end - rightSize / 4);
+                    if (rightSize > NINTHER_THRESHOLD) {
+                        swap(a, pivotPos + 2, pivotPos + (2 + rightSize / 4));
+                        swap(a, pivotPos + 3, pivotPos + (3 + rightSize / 4));
+                        swap(a, end - 2, end - (1 + rightSize / 4));
+                        swap(a, end - 3, end - (2 + rightSize / 4));
+                    }
+                }
+            } else if (alreadyPartitioned
+                    && partialInsertionSort(a, begin, pivotPos)
+                    && partialInsertionSort(a, pivotPos + 1, end)) {
+                return;
+            }
+
+            pdqsort(a, begin, pivotPos, badAllowed, leftmost, base);
+            begin = pivotPos + 1;
+            leftmost = false;
+        }
+    }
+
+    /**
+     * Partitions around {@code a[begin]}, putting elements equal to the pivot on the right.
+     *
+     * @return the pivot position shifted left by one, with the low bit set if no swaps were needed
+     */
+    private static long partitionRight(int[] a, int begin, int end) {
+        int pivot = a[begin];
+        int first = begin;
+        int last = end;
+
+        while (a[++first] < pivot) ;
+
+        if (first - 1 == begin) {
+            while (first < last && !(a[--last] < pivot)) ;
+        } else {
+            while (!(a[--last] < pivot)) ;
+        }
+
+        boolean alreadyPartitioned = first >= last;
+
+        while (first < last) {
+            swap(a, first, last);
+            while (a[++first] < pivot) ;
+            while (!(a[--last] < pivot)) ;
+        }
+
+        int pivotPos = first - 1;
+        a[begin] = a[pivotPos];
+        a[pivotPos] = pivot;
+        return (long) pivotPos << 1 | (alreadyPartitioned ? 1 : 0);
+    }
+
+    /** Partitions around {@code a[begin]}, putting elements equal to the pivot on the left. */
+    private static int partitionLeft(int[] a, int begin, int end) {
+        int pivot = a[begin];
+        int first = begin;
+        int last = end;
+
+        while (pivot < a[--last]) ;
+
+        if (last + 1 == end) {
+            while (first < last && !(pivot < a[++first])) ;
+        } else {
+            while (!(pivot < a[++first])) ;
+        }
+
+        while (first < last) {
+            swap(a, first, last);
+            while (pivot < a[--last]) ;
+            while (!(pivot < a[++first])) ;
+        }
+
+        int pivotPos = last;
+        a[begin] = a[pivotPos];
+        a[pivotPos] = pivot;
+        return pivotPos;
+    }
+
+    /** Insertion sort that gives up once it has moved more than a handful of elements. */
+    private static boolean partialInsertionSort(int[] a, int begin, int end) {
+        int moved = 0;
+        for (int cur = begin + 1; cur < end; cur++) {
+            int key = a[cur];
+            int i = cur - 1;
+            if (a[i] <= key) continue;
+
+            while (i >= begin && a[i] > key) {
+                a[i + 1] = a[i];
+                i--;
+            }
+            a[i + 1] = key;
+            moved += cur - (i + 1);
+            if (moved > PARTIAL_INSERTION_LIMIT) return false;
+        }
+        return true;
+    }
+
+    private static int baseCaseSize(BlockSorter base) {
+        return base == null ? INSERTION_THRESHOLD : BlockSorter.BLOCK + 1;
+    }
+
+    private static void finishSmall(int[] a, int begin, int end, BlockSorter base) {
+        if (base == null) {
+            insertionSort(a, begin, end);
+        } else {
+            base.sortRange(a, begin, end);
+        }
+    }
+
+    static void insertionSort(int[] a, int begin, int end) {
+        for (int j = begin + 1; j < end; j++) {
+            int key = a[j];
+            int i = j - 1;
+            while (i >= begin && a[i] > key) {
+                a[i + 1] = a[i];
+                i--;
+            }
+            a[i + 1] = key;
+        }
+    }
+
+    private static void heapSort(int[] a, int begin, int end) {
+        int n = end - begin;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(a, begin, i, n);
+        }
+        for (int last = n - 1; last > 0; last--) {
+            swap(a, begin, begin + last);
+            siftDown(a, begin, 0, last);
+        }
+    }
+
+    private static void siftDown(int[] a, int base, int i, int n) {
+        int value = a[base + i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && a[base + child + 1] > a[base + child]) child++;
+            if (value >= a[base + child]) break;
+            a[base + i] = a[base + child];
+            i = child;
+        }
+        a[base + i] = value;
+    }
+
+    private static void sort3(int[] a, int i, int j, int k) {
+        if (a[j] < a[i]) swap(a, i, j);
+        if (a[k] < a[j]) swap(a, j, k);
+        if (a[j] < a[i]) swap(a, i, j);
+    }
+
+    private static void reverse(int[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            swap(a, i, j);
+        }
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    private static int log2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
+}
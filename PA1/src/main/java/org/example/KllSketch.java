@@ -0,0 +1,155 @@
+package org.example;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Mergeable streaming quantile sketch after Karnin, Lang and Liberty (KLL).
+ * <p>
+ * Values enter level 0. When the sketch exceeds its capacity, the lowest full level is sorted
+ * and every other value (starting at a random offset) is promoted to the next level with twice
+ * the weight. Level capacities shrink geometrically from the top, so memory stays around
+ * {@code 3k} values no matter how long the stream is, and the rank error is roughly
+ * {@code 1.7 / k} with high probability.
+ */
+public class KllSketch {
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private final SplittableRandom random;
+    private long[][] levels = new long[0][];
+    private int[] levelSizes = new int[0];
+    private int size;
+    private int maxSize;
+    private long count;
+
+    /**
+     * @param k accuracy parameter; 200 gives about 1% rank error
+     */
+    public KllSketch(int k) {
+        this(k, new SplittableRandom());
+    }
+
+    KllSketch(int k, SplittableRandom random) {
+        if (k < 8) throw new IllegalArgumentException("k must be at least 8: " + k);
+        this.k = k;
+        this.random = random;
+        grow();
+    }
+
+    /** Builds a sketch of one column in a single pass over the CSV, never holding the column in memory. */
+    public static KllSketch fromCsv(String filePath, int columnIndex, int k) throws IOException {
+        KllSketch sketch = new KllSketch(k);
+        MappedCsvReader.forEachInt(filePath, columnIndex, sketch::update);
+        return sketch;
+    }
+
+    public void update(long value) {
+        append(0, value);
+        size++;
+        count++;
+        if (size >= maxSize) compress();
+    }
+
+    /** Number of values seen by this sketch and every sketch merged into it. */
+    public long count() {
+        return count;
+    }
+
+    /** Number of values currently retained. */
+    public int retained() {
+        return size;
+    }
+
+    /**
+     * Adds everything seen by {@code other} to this sketch; {@code other} is not modified.
+     */
+    public void merge(KllSketch other) {
+        while (levels.length < other.levels.length) grow();
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.levelSizes[h]; i++) append(h, other.levels[h][i]);
+        }
+        size += other.size;
+        count += other.count;
+        while (size >= maxSize) compress();
+    }
+
+    /**
+     * Approximate value with a fraction {@code q} of the stream at or below it.
+     */
+    public long quantile(double q) {
+        if (count == 0) throw new IllegalStateException("Empty sketch");
+        if (q < 0 || q > 1) throw new IllegalArgumentException("q must be in [0, 1]: " + q);
+
+        // sort each level on a copy, then walk them in merged order accumulating weights 2^h
+        int numLevels = levels.length;
+        long[][] sorted = new long[numLevels][];
+        int[] next = new int[numLevels];
+        long total = 0;
+        for (int h = 0; h < numLevels; h++) {
+            sorted[h] = Arrays.copyOf(levels[h], levelSizes[h]);
+            Arrays.sort(sorted[h]);
+            total += (long) levelSizes[h] << h;
+        }
+
+        double target = q * total;
+        long cumulative = 0;
+        long last = 0;
+        while (true) {
+            int best = -1;
+            for (int h = 0; h < numLevels; h++) {
+                if (next[h] < sorted[h].length && (best < 0 || sorted[h][next[h]] < sorted[best][next[best]])) best = h;
+            }
+            if (best < 0) return last;
+
+            last = sorted[best][next[best]++];
+            cumulative += 1L << best;
+            if (cumulative >= target) return last;
+        }
+    }
+
+    private void compress() {
+        for (int h = 0; h < levels.length; h++) {
+            if (levelSizes[h] < capacity(h)) continue;
+            if (h + 1 == levels.length) grow();
+
+            long[] items = levels[h];
+            int n = levelSizes[h];
+            Arrays.sort(items, 0, n);
+
+            // with an odd count the smallest value stays behind; of every following pair one is promoted
+            int kept = n % 2;
+            int offset = random.nextBoolean() ? 1 : 0;
+            for (int i = kept + offset; i < n; i += 2) append(h + 1, items[i]);
+            levelSizes[h] = kept;
+
+            size = 0;
+            for (int s : levelSizes) size += s;
+            if (size < maxSize) break;
+        }
+    }
+
+    private void grow() {
+        int h = levels.length;
+        levels = Arrays.copyOf(levels, h + 1);
+        levels[h] = new long[16];
+        levelSizes = Arrays.copyOf(levelSizes, h + 1);
+
+        maxSize = 0;
+        for (int level = 0; level <= h; level++) maxSize += capacity(level);
+    }
+
+    private int capacity(int h) {
+        int depth = levels.length - h - 1;
+        return (int) Math.ceil(Math.pow(CAPACITY_DECAY, depth) * k) + 1;
+    }
+
+    private void append(int h, long value) {
+        int n = levelSizes[h];
+        if (n == levels[h].length) levels[h] = Arrays.copyOf(levels[h], n * 2);
+        levels[h][n] = value;
+        levelSizes[h] = n + 1;
+    }
+}
@@ -0,0 +1,449 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.knowm.xchart.*;
+import org.knowm.xchart.style.Styler;
+
+public class Main
+{
+
+    private static final int NUM_RUNS = 10;
+
+    /** When set, charts are only written as PNG files and no Swing window is opened. */
+    private static boolean headless = false;
+
+    private static Path outputDir = Paths.get("");
+
+    public static final String[] SORT_NAMES = {"Comb", "Insertion", "Shaker", "Shell", "Radix", "ParallelRadix", "Hybrid", "AmericanFlag"};
+
+    public static int[] readCSV(String filePath, int columnIndex) {
+        try {
+            return MappedCsvReader.readIntColumn(filePath, columnIndex, Runtime.getRuntime().availableProcessors());
+        } catch (IOException e) {
+            System.err.println("OOPS! Error occurred: " + e.getMessage());
+        }
+
+        return new int[0];
+    }
+
+
+    public static void combSort(int[] arr) {
+        int n = arr.length;
+        int gap = n;
+        boolean swapped = true;
+
+        while (gap != 1 || swapped) {
+            gap = (gap * 10) / 13;
+            if (gap < 1) gap = 1;
+
+            swapped = false;
+
+            for (int i = 0; i < n - gap; i++) {
+                if (arr[i] > arr[i + gap]) {
+                    int temp = arr[i];
+                    arr[i] = arr[i + gap];
+                    arr[i + gap] = temp;
+                    swapped = true;
+                }
+            }
+        }
+    }
+
+
+
+    public static void insertionSort(int[] arr) {
+        for (int j = 1; j < arr.length; j++) {
+            int key = arr[j];
+            int i = j - 1;
+            while (i >= 0 && arr[i] > key) {
+                arr[i + 1] = arr[i];
+                i = i - 1;
+            }
+            arr[i + 1] = key;
+        }
+    }
+
+    public static void shakerSort(int[] arr) {
+        boolean swapped = true;
+
+        while (swapped) {
+            swapped = false;
+            for (int i = 0; i < arr.length - 1; i++) {
+                if (arr[i] > arr[i + 1]) {
+                    int temp = arr[i];
+                    arr[i] = arr[i + 1];
+                    arr[i + 1] = temp;
+                    swapped = true;
+                }
+            }
+
+            if (!swapped) break;
+
+            swapped = false;
+            for (int i = arr.length - 2; i >= 0; i--) {
+                if (arr[i] > arr[i + 1]) {
+                    int temp = arr[i];
+                    arr[i] = arr[i + 1];
+                    arr[i + 1] = temp;
+                    swapped = true;
+                }
+            }
+        }
+    }
+
+    public static void shellSort(int[] arr) {
+        int n = arr.length;
+        for (int gap = n / 2; gap > 0; gap /= 2) {
+            for (int i = gap; i < n; i++) {
+                int temp = arr[i];
+                int j = i;
+                while (j >= gap && arr[j - gap] > temp) {
+                    arr[j] = arr[j - gap];
+                    j -= gap;
+                }
+                arr[j] = temp;
+            }
+        }
+    }
+
+    public static void radixSort(int[] A) {
+        int d = getMaxDigits(A);
+        int[] result = A;
+
+        for (int pos = 1; pos <= d; pos++) {
+            result = countingSort(result, pos);
+        }
+
+        if (result != A) {
+            System.arraycopy(result, 0, A, 0, A.length);
+        }
+    }
+
+
+    private static int getMaxDigits(int[] A) {
+        int max = Arrays.stream(A).max().orElse(0);
+        return (int) Math.log10(max) + 1;
+    }
+
+
+    private static int[] countingSort(int[] A, int pos) {
+        int size = A.length;
+        int[] output = new int[size];
+        int[] count = new int[10];
+
+
+        for (int i = 0; i < size; i++) {
+            int digit = getDigit(A[i], pos);
+            count[digit]++;
+        }
+
+
+        for (int i = 1; i < 10; i++) {
+            count[i] += count[i - 1];
+        }
+
+
+        for (int i = size - 1; i >= 0; i--) {
+            int digit = getDigit(A[i], pos);
+            output[count[digit] - 1] = A[i];
+            count[digit]--;
+        }
+
+        return output;
+    }
+
+
+    private static int getDigit(int num, int pos) {
+        return (num / (int) Math.pow(10, pos - 1)) % 10;
+    }
+
+    public static void showAndSaveChart(String title, int[] xAxis, double[][] yAxis,boolean isSortBased) throws IOException {
+        XYChart chart = new XYChartBuilder().width(800).height(600).title(title)
+                .yAxisTitle("Time in Milliseconds").xAxisTitle("Input Size").build();
+
+        double[] doubleX = Arrays.stream(xAxis).asDoubleStream().toArray();
+
+        chart.getStyler().setLegendPosition(Styler.LegendPosition.InsideNE);
+        chart.getStyler().setDefaultSeriesRenderStyle(XYSeries.XYSeriesRenderStyle.Line);
+
+
+        String[] sortNames = SORT_NAMES;
+        String[] dataTypes = {"Random", "Sorted", "Reversed"};
+
+        String[] legends = isSortBased ? sortNames : dataTypes;
+
+        for (int i = 0; i < yAxis.length; i++) {
+            chart.addSeries(legends[i], doubleX, yAxis[i]);
+        }
+
+        BitmapEncoder.saveBitmap(chart, outputDir.resolve(title + ".png").toString(), BitmapEncoder.BitmapFormat.PNG);
+        if (!headless) {
+            new SwingWrapper(chart).displayChart();
+        }
+    }
+
+    public static double measureExecutionTime(Runnable algorithm, int iterations) {
+        return Arrays.stream(measureExecutionSamples(algorithm, iterations)).average().orElse(0);
+    }
+
+    public static double[] measureExecutionSamples(Runnable algorithm, int iterations) {
+        double[] samples = new double[iterations];
+
+        for (int i = 0; i < iterations; i++) {
+            long startTime = System.nanoTime();
+            algorithm.run();
+            samples[i] = (System.nanoTime() - startTime) / 1_000_000.0;
+        }
+
+        return samples;
+    }
+
+    public static int[] reverseArray(int[] array) {
+        int[] reversed = new int[array.length];
+        for(int i = 0; i < array.length; i++){
+            reversed[i] = array[array.length - 1 - i];
+        }
+        return reversed;
+    }
+
+    public static void displayResults(String header, int[] sizes, double[][] results) {
+        System.out.println("\n=== " + header + " ===");
+        System.out.print("Input Size\t");
+
+        String[] algorithms = SORT_NAMES;
+        for (String algo : algorithms) {
+            System.out.print(algo + "\t");
+        }
+        System.out.println();
+
+        for (int i = 0; i < sizes.length; i++) {
+            System.out.printf("%d\t", sizes[i]);
+            for (double[] result : results) {
+                System.out.printf("%.2f\t", result[i]);
+            }
+            System.out.println();
+        }
+    }
+
+    public static void displayMetrics(String header, int[] sizes, SortMetrics[][] results) {
+        System.out.println("\n=== " + header + ": Memory & Operations ===");
+        System.out.println("Input Size\tAlgorithm\tAlloc KB\tAux KB\tGC Count\tGC ms\tPeak Heap KB\tComparisons\tSwaps\tWrites");
+
+        for (int i = 0; i < sizes.length; i++) {
+            for (int s = 0; s < results.length; s++) {
+                SortMetrics m = results[s][i];
+                String aux = m.auxiliaryBytes < 0 ? "-" : String.format("%.1f", m.auxiliaryBytes / 1024.0);
+                System.out.printf("%d\t%s\t%.1f\t%s\t%d\t%d\t%.1f\t%d\t%d\t%d%n", sizes[i], SORT_NAMES[s],
+                        m.allocatedBytes / 1024.0, aux, m.gcCount, m.gcTimeMillis, m.peakHeapDelta / 1024.0,
+                        m.comparisons, m.swaps, m.writes);
+            }
+        }
+    }
+
+    public static BenchmarkReport evaluateSortAlgo(int[] csvData, int[] inputAxis) {
+        String[] sortNames = SORT_NAMES;
+        String[] dataNames = {"Random", "Sorted", "Reversed"};
+        Map<String, double[]> randomTimes = new HashMap<>();
+        Map<String, double[]> sortedTimes = new HashMap<>();
+        Map<String, double[]> reversedTimes = new HashMap<>();
+        Map<String, SortMetrics[]> randomMetrics = new HashMap<>();
+        Map<String, SortMetrics[]> sortedMetrics = new HashMap<>();
+        Map<String, SortMetrics[]> reversedMetrics = new HashMap<>();
+        BenchmarkReport report = new BenchmarkReport();
+
+        for (String sort : sortNames) {
+            randomTimes.put(sort, new double[inputAxis.length]);
+            sortedTimes.put(sort, new double[inputAxis.length]);
+            reversedTimes.put(sort, new double[inputAxis.length]);
+            randomMetrics.put(sort, new SortMetrics[inputAxis.length]);
+            sortedMetrics.put(sort, new SortMetrics[inputAxis.length]);
+            reversedMetrics.put(sort, new SortMetrics[inputAxis.length]);
+        }
+
+        Map<Integer, int[]> sortedArraysMap = new HashMap<>();
+
+        for (int i = 0; i < inputAxis.length; i++) {
+            int size = inputAxis[i];
+            int[] randomData = Arrays.copyOf(csvData, size);
+            System.out.println("Testing size: " + size);
+
+
+            for (String sort : sortNames) {
+                double[] samples = measureExecutionSamples(() -> applySort(sort, Arrays.copyOf(randomData, size)), NUM_RUNS);
+                randomTimes.get(sort)[i] = Arrays.stream(samples).average().orElse(0);
+                randomMetrics.get(sort)[i] = SortMetrics.measure(sort, randomData);
+                report.add(new BenchmarkReport.Measurement(sort, "Random", size, samples, randomMetrics.get(sort)[i]));
+            }
+
+
+            int[] sortedData = Arrays.copyOf(randomData, size);
+            Arrays.sort(sortedData);
+            sortedArraysMap.put(size, sortedData);
+
+            for (String sort : sortNames) {
+                double[] samples = measureExecutionSamples(() -> applySort(sort, Arrays.copyOf(sortedData, size)), NUM_RUNS);
+                sortedTimes.get(sort)[i] = Arrays.stream(samples).average().orElse(0);
+                sortedMetrics.get(sort)[i] = SortMetrics.measure(sort, sortedData);
+                report.add(new BenchmarkReport.Measurement(sort, "Sorted", size, samples, sortedMetrics.get(sort)[i]));
+            }
+
+
+            int[] reversedData = reverseArray(sortedData);
+            for (String sort : sortNames) {
+                double[] samples = measureExecutionSamples(() -> applySort(sort, Arrays.copyOf(reversedData, size)), NUM_RUNS);
+                reversedTimes.get(sort)[i] = Arrays.stream(samples).average().orElse(0);
+                reversedMetrics.get(sort)[i] = SortMetrics.measure(sort, reversedData);
+                report.add(new BenchmarkReport.Measurement(sort, "Reversed", size, samples, reversedMetrics.get(sort)[i]));
+            }
+        }
+
+
+        displayResults("Random Data Analysis", inputAxis, convertMapToArray(randomTimes, sortNames));
+        displayMetrics("Random Data Analysis", inputAxis, convertMetricsToArray(randomMetrics, sortNames));
+        displayResults("Sorted Data Analysis", inputAxis, convertMapToArray(sortedTimes, sortNames));
+        displayMetrics("Sorted Data Analysis", inputAxis, convertMetricsToArray(sortedMetrics, sortNames));
+        displayResults("Reversed Data Analysis", inputAxis, convertMapToArray(reversedTimes, sortNames));
+        displayMetrics("Reversed Data Analysis", inputAxis, convertMetricsToArray(reversedMetrics, sortNames));
+
+
+        try {
+            showAndSaveChart("Random Data Analysis", inputAxis, convertMapToArray(randomTimes, sortNames),true);
+            showAndSaveChart("Sorted Data Analysis", inputAxis, convertMapToArray(sortedTimes, sortNames),true);
+            showAndSaveChart("Reversed Data Analysis", inputAxis, convertMapToArray(reversedTimes, sortNames),true);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        System.out.println("Sorting Algorithms in sortNames:");
+        for (String sort : sortNames) {
+            try {
+                double[][] sortPerformance = new double[3][];
+                sortPerformance[0] = randomTimes.get(sort);
+                sortPerformance[1] = sortedTimes.get(sort);
+                sortPerformance[2] = reversedTimes.get(sort);
+
+
+                for (int i = 0; i < sortPerformance.length; i++) {
+                    System.out.println(sort + " Data " + i + ": " + Arrays.toString(sortPerformance[i]));
+                }
+
+
+                showAndSaveChart(sort + " Sort Performance", inputAxis, sortPerformance,false);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        return report;
+    }
+
+
+    public static double[][] convertMapToArray(Map<String, double[]> map, String[] keys) {
+        double[][] result = new double[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            result[i] = map.get(keys[i]);
+        }
+        return result;
+    }
+
+
+    public static SortMetrics[][] convertMetricsToArray(Map<String, SortMetrics[]> map, String[] keys) {
+        SortMetrics[][] result = new SortMetrics[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            result[i] = map.get(keys[i]);
+        }
+        return result;
+    }
+
+
+    public static void applySort(String sortType, int[] array) {
+        switch (sortType) {
+            case "Comb": combSort(array); break;
+            case "Insertion": insertionSort(array); break;
+            case "Shaker": shakerSort(array); break;
+            case "Shell": shellSort(array); break;
+            case "Radix": radixSort(array); break;
+            case "ParallelRadix": ParallelRadixSort.sort(array); break;
+            case "Hybrid": HybridSort.sort(array); break;
+            case "AmericanFlag": AmericanFlagSort.sort(array); break;
+        }
+    }
+
+
+    /**
+     * Usage: Main [--data &lt;csv&gt;] [--headless] [--out &lt;dir&gt;] [--baseline &lt;results.csv&gt;]
+     * [--budget &lt;ms_per_cell&gt;] [--sizes &lt;n1,n2,...&gt;]
+     * <p>
+     * In headless mode no window is opened; results.csv and results.json are written to the
+     * output directory next to the charts, and the run fails if it is significantly slower than the baseline.
+     * With {@code --budget} the {@link AdaptiveBenchmark} runner is used instead of a fixed number of runs,
+     * scanning doubling sizes up to 32 million unless {@code --sizes} is given.
+     */
+    public static void main(String[] args) throws IOException {
+        int[] inputAxis = {500, 1000, 2000, 4000, 8000,16000,32000, 64000, 128000, 250000};
+        String filePath = "src/main/resources/TrafficFlowDataset.csv";
+        Path baselinePath = null;
+        double budgetMillis = 0;
+        int[] sizes = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--data": filePath = args[++i]; break;
+                case "--headless": headless = true; break;
+                case "--out": outputDir = Paths.get(args[++i]); break;
+                case "--baseline": baselinePath = Paths.get(args[++i]); break;
+                case "--budget": budgetMillis = Double.parseDouble(args[++i]); break;
+                case "--sizes": sizes = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray(); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (headless) {
+            System.setProperty("java.awt.headless", "true");
+        }
+        Files.createDirectories(outputDir.toAbsolutePath());
+
+        int[] csvData = readCSV(filePath, 2);
+
+
+        BenchmarkReport report;
+        AdaptiveBenchmark adaptive = null;
+        if (budgetMillis > 0) {
+            adaptive = new AdaptiveBenchmark(budgetMillis, 0.02);
+            report = adaptive.run(csvData, SORT_NAMES, new String[]{"Random", "Sorted", "Reversed"},
+                    sizes != null ? sizes : AdaptiveBenchmark.doublingSizes(500, 32_000_000));
+            adaptive.printSummary(report);
+        } else {
+            report = evaluateSortAlgo(csvData, sizes != null ? sizes : inputAxis);
+        }
+        System.out.println("Toplam okunan veri sayısı: " + csvData.length);
+
+        if (headless) {
+            report.writeCsv(outputDir.resolve("results.csv"));
+            report.writeJson(outputDir.resolve("results.json"));
+            if (adaptive != null) {
+                adaptive.writeProjections(outputDir.resolve("projections.csv"));
+            }
+        }
+
+        if (baselinePath != null) {
+            List<RegressionCheck.Regression> regressions =
+                    new RegressionCheck(0.01, 0.05).compare(report, BenchmarkReport.readCsv(baselinePath));
+            System.out.println("\n=== Regressions against " + baselinePath + " ===");
+            for (RegressionCheck.Regression regression : regressions) {
+                System.out.println(regression);
+            }
+            if (!regressions.isEmpty()) {
+                System.exit(1);
+            }
+            System.out.println("None");
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,266 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Reads a single integer column of a CSV file through memory-mapped byte buffers.
+ * The scanner walks the raw bytes to the requested column and parses the digits in place,
+ * so no String, boxed Integer or row array is created per line.
+ * <p>
+ * Behaves like {@link Main#readCSV(String, int)}: the header line is skipped, and rows that
+ * are too short, have an empty cell or hold a value that does not parse are ignored.
+ */
+public final class MappedCsvReader {
+
+    /** Largest region handed to a single {@link FileChannel#map} call. */
+    static final long MAX_MAPPING = 1L << 30;
+
+    private MappedCsvReader() {
+    }
+
+    public static int[] readIntColumn(String filePath, int columnIndex) throws IOException {
+        return readIntColumn(filePath, columnIndex, 1);
+    }
+
+    /**
+     * @param parallelism number of line-aligned chunks parsed concurrently; 1 parses on the calling thread
+     */
+    public static int[] readIntColumn(String filePath, int columnIndex, int parallelism) throws IOException {
+        IntColumn[] parts = readChunks(Paths.get(filePath), parallelism, (buffer, position, skipHeader) -> {
+            IntColumn column = new IntColumn();
+            scan(buffer, columnIndex, skipHeader, Integer.MIN_VALUE, Integer.MAX_VALUE, v -> column.add((int) v));
+            return column;
+        }, IntColumn[]::new);
+        return IntColumn.concat(parts);
+    }
+
+    public static long[] readLongColumn(String filePath, int columnIndex) throws IOException {
+        return readLongColumn(filePath, columnIndex, 1);
+    }
+
+    public static long[] readLongColumn(String filePath, int columnIndex, int parallelism) throws IOException {
+        LongColumn[] parts = readChunks(Paths.get(filePath), parallelism, (buffer, position, skipHeader) -> {
+            LongColumn column = new LongColumn();
+            scan(buffer, columnIndex, skipHeader, Long.MIN_VALUE, Long.MAX_VALUE, column::add);
+            return column;
+        }, LongColumn[]::new);
+        return LongColumn.concat(parts);
+    }
+
+    /**
+     * Streams every valid value of the column to {@code consumer} in file order, mapping at most
+     * {@link #MAX_MAPPING} bytes at a time, so the column never has to fit in memory.
+     */
+    public static void forEachInt(String filePath, int columnIndex, IntConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel, 1);
+            for (int c = 0; c < bounds.length - 1; c++) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, bounds[c], bounds[c + 1] - bounds[c]);
+                scan(buffer, columnIndex, c == 0, Integer.MIN_VALUE, Integer.MAX_VALUE, v -> consumer.accept((int) v));
+            }
+        }
+    }
+
+    /**
+     * Splits the file into line-aligned chunks, maps each one and parses it with {@code parser}.
+     * Chunks are returned in file order regardless of which thread parsed them.
+     */
+    static <T> T[] readChunks(Path path, int parallelism, ChunkParser<T> parser, IntFunction<T[]> arrayFactory) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel, Math.max(1, parallelism));
+            IntStream chunks = IntStream.range(0, bounds.length - 1);
+            if (parallelism > 1) chunks = chunks.parallel();
+
+            try {
+                return chunks.mapToObj(c -> {
+                    try {
+                        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, bounds[c], bounds[c + 1] - bounds[c]);
+                        return parser.parse(buffer, bounds[c], c == 0);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }).toArray(arrayFactory);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Returns chunk boundaries where every inner boundary is the first byte of a line.
+     * No chunk is larger than {@link #MAX_MAPPING} unless a single line is.
+     */
+    static long[] chunkBounds(FileChannel channel, int parallelism) throws IOException {
+        long size = channel.size();
+        int chunks = (int) Math.max(parallelism, (size + MAX_MAPPING - 1) / MAX_MAPPING);
+        chunks = (int) Math.max(1, Math.min(chunks, size));
+
+        long[] bounds = new long[chunks + 1];
+        bounds[chunks] = size;
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        for (int c = 1; c < chunks; c++) {
+            long nominal = Math.max(bounds[c - 1], size * c / chunks);
+            bounds[c] = nextLineStart(channel, nominal, size, probe);
+        }
+        return bounds;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer probe) throws IOException {
+        if (position == 0) return 0;
+        long pos = position - 1;
+        while (pos < size) {
+            probe.clear();
+            int read = channel.read(probe, pos);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') return pos + i + 1;
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    /**
+     * Scans one line-aligned buffer and hands every valid value of the column to {@code sink}.
+     * Values outside [{@code min}, {@code max}] are treated like unparsable cells.
+     */
+    static void scan(ByteBuffer buffer, int columnIndex, boolean skipHeader, long min, long max, ValueSink sink) {
+        int limit = buffer.limit();
+        int pos = 0;
+        long[] parsed = new long[1];
+
+        if (skipHeader) {
+            while (pos < limit && buffer.get(pos) != '\n') pos++;
+            pos++;
+        }
+
+        while (pos < limit) {
+            int column = 0;
+            while (column < columnIndex && pos < limit) {
+                byte b = buffer.get(pos++);
+                if (b == ',') column++;
+                else if (b == '\n') break;
+            }
+            if (column < columnIndex) continue;
+
+            int cellEnd = pos;
+            while (cellEnd < limit && buffer.get(cellEnd) != ',' && buffer.get(cellEnd) != '\n') cellEnd++;
+            if (parseCell(buffer, pos, cellEnd, min, max, parsed)) {
+                sink.accept(parsed[0]);
+            }
+
+            pos = cellEnd;
+            while (pos < limit && buffer.get(pos) != '\n') pos++;
+            pos++;
+        }
+    }
+
+    /**
+     * Parses the cell {@code buffer[from, to)} like {@code Long.parseLong(cell.trim())} and stores it in
+     * {@code out[0]}. Returns false for an empty or unparsable cell or a value outside [{@code min}, {@code max}].
+     */
+    static boolean parseCell(ByteBuffer buffer, int from, int to, long min, long max, long[] out) {
+        int pos = from;
+        while (pos < to && isBlank(buffer.get(pos))) pos++;
+        while (to > pos && isBlank(buffer.get(to - 1))) to--;
+        if (pos == to) return false;
+
+        boolean negative = false;
+        if (buffer.get(pos) == '-' || buffer.get(pos) == '+') {
+            negative = buffer.get(pos) == '-';
+            pos++;
+            if (pos == to) return false;
+        }
+
+        // accumulate negatively, like Long.parseLong, so the most negative value still fits
+        long limitValue = negative ? min : -max;
+        long multMin = limitValue / 10;
+        long value = 0;
+        for (; pos < to; pos++) {
+            byte b = buffer.get(pos);
+            if (b < '0' || b > '9') return false;
+            int d = b - '0';
+            if (value < multMin || value * 10 < limitValue + d) return false;
+            value = value * 10 - d;
+        }
+
+        out[0] = negative ? value : -value;
+        return true;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b != '\n' && b >= 0 && b <= ' ';
+    }
+
+    interface ValueSink {
+        void accept(long value);
+    }
+
+    interface ChunkParser<T> {
+        /**
+         * @param position file offset of the first byte in {@code buffer}
+         */
+        T parse(ByteBuffer buffer, long position, boolean skipHeader);
+    }
+
+    /** Growable primitive int column. */
+    static final class IntColumn {
+        int[] data = new int[1024];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) data = Arrays.copyOf(data, size + (size >> 1));
+            data[size++] = value;
+        }
+
+        static int[] concat(IntColumn[] parts) {
+            int total = 0;
+            for (IntColumn part : parts) total += part.size;
+            if (parts.length == 1 && parts[0].size == parts[0].data.length) return parts[0].data;
+
+            int[] result = new int[total];
+            int offset = 0;
+            for (IntColumn part : parts) {
+                System.arraycopy(part.data, 0, result, offset, part.size);
+                offset += part.size;
+            }
+            return result;
+        }
+    }
+
+    /** Growable primitive long column. */
+    static final class LongColumn {
+        long[] data = new long[1024];
+        int size;
+
+        void add(long value) {
+            if (size == data.length) data = Arrays.copyOf(data, size + (size >> 1));
+            data[size++] = value;
+        }
+
+        static long[] concat(LongColumn[] parts) {
+            int total = 0;
+            for (LongColumn part : parts) total += part.size;
+            if (parts.length == 1 && parts[0].size == parts[0].data.length) return parts[0].data;
+
+            long[] result = new long[total];
+            int offset = 0;
+            for (LongColumn part : parts) {
+                System.arraycopy(part.data, 0, result, offset, part.size);
+                offset += part.size;
+            }
+            return result;
+        }
+    }
+}
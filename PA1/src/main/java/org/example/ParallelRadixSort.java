@@ -0,0 +1,182 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+/**
+ * LSD radix sort over 11-bit digits for int and long columns.
+ * Each pass builds one histogram per chunk, turns them into scatter offsets and
+ * scatters the chunks concurrently, ping-ponging between the input and one buffer.
+ * Negative values are handled by flipping the sign bit before extracting digits.
+ */
+public final class ParallelRadixSort {
+
+    static final int DIGIT_BITS = 11;
+    static final int RADIX = 1 << DIGIT_BITS;
+    static final int DIGIT_MASK = RADIX - 1;
+
+    /** Below this size the histogram and scatter run on the calling thread. */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    /** Smallest chunk handed to a worker, so tiny chunks do not drown in bucket bookkeeping. */
+    static final int MIN_CHUNK = 1 << 14;
+
+    private ParallelRadixSort() {
+    }
+
+    public static void sort(int[] a) {
+        sort(a, ForkJoinPool.commonPool());
+    }
+
+    public static void sort(int[] a, ForkJoinPool pool) {
+        sort(a, a.length, pool);
+    }
+
+    /**
+     * Sorts the prefix {@code a[0, length)} and leaves the rest of the array untouched.
+     * The scratch buffer is only {@code length} long, so a partly filled buffer costs no more than its contents.
+     */
+    public static void sort(int[] a, int length, ForkJoinPool pool) {
+        Objects.checkFromToIndex(0, length, a.length);
+        int n = length;
+        if (n < 2) return;
+
+        int chunks = chunkCount(n, pool);
+        int[][] offsets = new int[chunks][RADIX];
+        int[] src = a;
+        int[] dst = new int[n];
+
+        for (int shift = 0; shift < Integer.SIZE; shift += DIGIT_BITS) {
+            final int[] from = src;
+            final int[] to = dst;
+            final int s = shift;
+
+            forEachChunk(pool, chunks, c -> {
+                int[] count = offsets[c];
+                Arrays.fill(count, 0);
+                for (int i = chunkStart(n, chunks, c), end = chunkStart(n, chunks, c + 1); i < end; i++) {
+                    count[digit(from[i], s)]++;
+                }
+            });
+
+            if (!toOffsets(offsets, digit(from[0], s), n)) continue;
+
+            forEachChunk(pool, chunks, c -> {
+                int[] offset = offsets[c];
+                for (int i = chunkStart(n, chunks, c), end = chunkStart(n, chunks, c + 1); i < end; i++) {
+                    to[offset[digit(from[i], s)]++] = from[i];
+                }
+            });
+
+            src = to;
+            dst = from;
+        }
+
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+        }
+    }
+
+    public static void sort(long[] a) {
+        sort(a, ForkJoinPool.commonPool());
+    }
+
+    public static void sort(long[] a, ForkJoinPool pool) {
+        int n = a.length;
+        if (n < 2) return;
+
+        int chunks = chunkCount(n, pool);
+        int[][] offsets = new int[chunks][RADIX];
+        long[] src = a;
+        long[] dst = new long[n];
+
+        for (int shift = 0; shift < Long.SIZE; shift += DIGIT_BITS) {
+            final long[] from = src;
+            final long[] to = dst;
+            final int s = shift;
+
+            forEachChunk(pool, chunks, c -> {
+                int[] count = offsets[c];
+                Arrays.fill(count, 0);
+                for (int i = chunkStart(n, chunks, c), end = chunkStart(n, chunks, c + 1); i < end; i++) {
+                    count[digit(from[i], s)]++;
+                }
+            });
+
+            if (!toOffsets(offsets, digit(from[0], s), n)) continue;
+
+            forEachChunk(pool, chunks, c -> {
+                int[] offset = offsets[c];
+                for (int i = chunkStart(n, chunks, c), end = chunkStart(n, chunks, c + 1); i < end; i++) {
+                    to[offset[digit(from[i], s)]++] = from[i];
+                }
+            });
+
+            src = to;
+            dst = from;
+        }
+
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+        }
+    }
+
+    static int digit(int value, int shift) {
+        return ((value ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK;
+    }
+
+    static int digit(long value, int shift) {
+        return (int) ((value ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK;
+    }
+
+    /**
+     * Converts per-chunk histograms into per-chunk scatter offsets, bucket-major so that
+     * equal digits keep their chunk order and the sort stays stable.
+     *
+     * @return false if every element falls into the same bucket and the pass can be skipped
+     */
+    private static boolean toOffsets(int[][] counts, int firstDigit, int n) {
+        int sameDigit = 0;
+        for (int[] count : counts) {
+            sameDigit += count[firstDigit];
+        }
+        if (sameDigit == n) return false;
+
+        int running = 0;
+        for (int b = 0; b < RADIX; b++) {
+            for (int[] count : counts) {
+                int c = count[b];
+                count[b] = running;
+                running += c;
+            }
+        }
+        return true;
+    }
+
+    private static int chunkCount(int n, ForkJoinPool pool) {
+        if (n < PARALLEL_THRESHOLD) return 1;
+        return Math.max(1, Math.min(pool.getParallelism(), n / MIN_CHUNK));
+    }
+
+    private static int chunkStart(int n, int chunks, int c) {
+        return (int) ((long) n * c / chunks);
+    }
+
+    private static void forEachChunk(ForkJoinPool pool, int chunks, IntConsumer body) {
+        if (chunks == 1) {
+            body.accept(0);
+            return;
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            final int chunk = c;
+            tasks.add(ForkJoinTask.adapt(() -> body.accept(chunk)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+}
@@ -0,0 +1,84 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Sorts whole CSV rows by one numeric column without creating an object per row.
+ * <p>
+ * Each key is shifted into the upper 32 bits of a {@code long} with its row index in the lower 32,
+ * and the packed array is sorted with {@link ParallelRadixSort}. Reading the low halves back gives
+ * a stable argsort, which can be applied to every column of a {@link ColumnarTable} or used to
+ * stream the rows out in sorted order.
+ */
+public final class RecordSort {
+
+    private RecordSort() {
+    }
+
+    public static int[] argsort(int[] keys) {
+        long[] packed = new long[keys.length];
+        for (int row = 0; row < keys.length; row++) {
+            packed[row] = (long) keys[row] << 32 | row;
+        }
+        ParallelRadixSort.sort(packed);
+        return unpackRows(packed, keys.length);
+    }
+
+    /**
+     * Argsort over a column that may contain {@link ColumnarTable#MISSING}; missing rows go last in
+     * their original order. The present keys must span less than 2^32 so they can be packed.
+     */
+    public static int[] argsort(long[] keys) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        int present = 0;
+        for (long key : keys) {
+            if (key == ColumnarTable.MISSING) continue;
+            min = Math.min(min, key);
+            max = Math.max(max, key);
+            present++;
+        }
+        if (present > 0 && (max - min < 0 || max - min >= 1L << 32)) {
+            throw new IllegalArgumentException("Key range [" + min + ", " + max + "] is too wide to pack with row indexes");
+        }
+
+        long[] packed = new long[present];
+        int[] order = new int[keys.length];
+        int next = 0;
+        int missing = present;
+        for (int row = 0; row < keys.length; row++) {
+            if (keys[row] == ColumnarTable.MISSING) {
+                order[missing++] = row;
+            } else {
+                // key - min is in [0, 2^32); subtracting 2^31 keeps the signed order of the packed longs
+                packed[next++] = (keys[row] - min - (1L << 31)) << 32 | row;
+            }
+        }
+
+        ParallelRadixSort.sort(packed);
+        for (int i = 0; i < present; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    private static int[] unpackRows(long[] packed, int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    /**
+     * Usage: RecordSort &lt;input_csv&gt; &lt;key_column&gt; &lt;output_csv&gt;
+     * Writes the input rows sorted by the key column; rows with an empty or bad key come last.
+     */
+    public static void main(String[] args) throws IOException {
+        int keyColumn = Integer.parseInt(args[1]);
+        ColumnarTable table = ColumnarTable.load(args[0], Runtime.getRuntime().availableProcessors(), keyColumn);
+        int[] order = argsort(table.column(keyColumn));
+        table.writeRows(order, Paths.get(args[2]));
+    }
+}
@@ -0,0 +1,143 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares a benchmark run against a stored baseline and flags statistically significant slowdowns.
+ * A cell is a regression when a one-sided Welch's t-test rejects "not slower" at {@code alpha}
+ * and the mean slowed down by more than {@code minSlowdown}, so tiny but consistent shifts are ignored.
+ */
+public class RegressionCheck {
+
+    /** A cell that got slower than the baseline. */
+    public static class Regression {
+        public final String algorithm;
+        public final String shape;
+        public final int size;
+        public final double baselineMillis;
+        public final double currentMillis;
+        public final double pValue;
+
+        Regression(String algorithm, String shape, int size, double baselineMillis, double currentMillis, double pValue) {
+            this.algorithm = algorithm;
+            this.shape = shape;
+            this.size = size;
+            this.baselineMillis = baselineMillis;
+            this.currentMillis = currentMillis;
+            this.pValue = pValue;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s/%s/%d: %.3f ms -> %.3f ms (%+.1f%%, p=%.4f)", algorithm, shape, size,
+                    baselineMillis, currentMillis, (currentMillis / baselineMillis - 1) * 100, pValue);
+        }
+    }
+
+    private final double alpha;
+    private final double minSlowdown;
+
+    /**
+     * @param alpha       significance level of the one-sided test, e.g. 0.01
+     * @param minSlowdown smallest relative slowdown worth reporting, e.g. 0.05 for 5%
+     */
+    public RegressionCheck(double alpha, double minSlowdown) {
+        this.alpha = alpha;
+        this.minSlowdown = minSlowdown;
+    }
+
+    public List<Regression> compare(BenchmarkReport current, BenchmarkReport baseline) {
+        List<Regression> regressions = new ArrayList<>();
+        for (BenchmarkReport.Measurement cur : current.getMeasurements()) {
+            BenchmarkReport.Measurement base = baseline.find(cur.algorithm, cur.shape, cur.size);
+            if (base == null || base.samplesMillis.length == 0 || cur.samplesMillis.length == 0) continue;
+
+            double baseMean = base.mean();
+            double curMean = cur.mean();
+            if (curMean <= baseMean * (1 + minSlowdown)) continue;
+
+            double p = slowerPValue(cur.samplesMillis, base.samplesMillis);
+            if (p < alpha) {
+                regressions.add(new Regression(cur.algorithm, cur.shape, cur.size, baseMean, curMean, p));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * One-sided Welch's t-test p-value for "current is slower than baseline".
+     */
+    static double slowerPValue(double[] current, double[] baseline) {
+        int n1 = current.length;
+        int n2 = baseline.length;
+        double m1 = mean(current);
+        double m2 = mean(baseline);
+        double v1 = variance(current, m1) / n1;
+        double v2 = variance(baseline, m2) / n2;
+
+        if (n1 < 2 || n2 < 2) return 1; // no variance estimate, so nothing can be significant
+        if (v1 + v2 == 0) return m1 > m2 ? 0 : 1;
+
+        double t = (m1 - m2) / Math.sqrt(v1 + v2);
+        double df = (v1 + v2) * (v1 + v2) / (v1 * v1 / (n1 - 1) + v2 * v2 / (n2 - 1));
+
+        double tail = 0.5 * regularizedBeta(df / (df + t * t), df / 2, 0.5);
+        return t > 0 ? tail : 1 - tail;
+    }
+
+    private static double mean(double[] x) {
+        double sum = 0;
+        for (double v : x) sum += v;
+        return sum / x.length;
+    }
+
+    private static double variance(double[] x, double mean) {
+        if (x.length < 2) return 0;
+        double sum = 0;
+        for (double v : x) sum += (v - mean) * (v - mean);
+        return sum / (x.length - 1);
+    }
+
+    /** Regularized incomplete beta function I_x(a, b), evaluated with Lentz's continued fraction. */
+    static double regularizedBeta(double x, double a, double b) {
+        if (x <= 0) return 0;
+        if (x >= 1) return 1;
+        if (x > (a + 1) / (a + b + 2)) return 1 - regularizedBeta(1 - x, b, a);
+
+        double logFront = logGamma(a + b) - logGamma(a) - logGamma(b) + a * Math.log(x) + b * Math.log(1 - x);
+        double front = Math.exp(logFront) / a;
+
+        final double tiny = 1e-300;
+        double f = 1, c = 1, d = 0;
+        for (int i = 0; i <= 400; i++) {
+            int m = i / 2;
+            double numerator;
+            if (i == 0) numerator = 1;
+            else if (i % 2 == 0) numerator = m * (b - m) * x / ((a + 2 * m - 1) * (a + 2 * m));
+            else numerator = -((a + m) * (a + b + m) * x) / ((a + 2 * m) * (a + 2 * m + 1));
+
+            d = 1 + numerator * d;
+            if (Math.abs(d) < tiny) d = tiny;
+            d = 1 / d;
+            c = 1 + numerator / c;
+            if (Math.abs(c) < tiny) c = tiny;
+            double cd = c * d;
+            f *= cd;
+            if (Math.abs(1 - cd) < 1e-12) break;
+        }
+        return front * (f - 1);
+    }
+
+    /** Lanczos approximation of ln Γ(x). */
+    static double logGamma(double x) {
+        double[] g = {676.5203681218851, -1259.1392167224028, 771.32342877765313, -176.61502916214059,
+                12.507343278686905, -0.13857109526572012, 9.9843695780195716e-6, 1.5056327351493116e-7};
+        if (x < 0.5) return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+        x -= 1;
+        double sum = 0.99999999999980993;
+        for (int i = 0; i < g.length; i++) sum += g[i] / (x + i + 1);
+        double t = x + g.length - 0.5;
+        return 0.5 * Math.log(2 * Math.PI) + (x + 0.5) * Math.log(t) - t + Math.log(sum);
+    }
+}
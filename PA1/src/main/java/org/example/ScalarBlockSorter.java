@@ -0,0 +1,42 @@
+package org.example;
+
+/**
+ * Scalar fallback of the block kernel: the same bitonic network, one compare-exchange at a time.
+ */
+final class ScalarBlockSorter extends BlockSorter {
+
+    @Override
+    public String name() {
+        return "Scalar";
+    }
+
+    @Override
+    void sortBlock(int[] a, int from) {
+        for (int k = 2; k <= BLOCK; k <<= 1) {
+            for (int j = k >> 1; j > 0; j >>= 1) {
+                for (int i = 0; i < BLOCK; i++) {
+                    int partner = i ^ j;
+                    if (partner <= i) continue;
+
+                    int x = a[from + i];
+                    int y = a[from + partner];
+                    boolean ascending = (i & k) == 0;
+                    if ((x > y) == ascending) {
+                        a[from + i] = y;
+                        a[from + partner] = x;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    void merge(int[] src, int lo, int mid, int hi, int[] dst) {
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+}
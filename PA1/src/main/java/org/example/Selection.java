@@ -0,0 +1,149 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Order statistics over an int column without sorting all of it.
+ * <p>
+ * {@link #select(int[], int)} is a Floyd–Rivest selection that partitions around pivots drawn
+ * from a small sample, so it touches the array roughly 1.5 times on average; if it needs more
+ * partition rounds than expected it finishes the remaining range with {@link HybridSort}, which
+ * keeps the worst case at O(n log n). {@link #topK(int[], int)} keeps the k largest values in a
+ * bounded primitive min-heap.
+ */
+public final class Selection {
+
+    /** Ranges at least this large pick their pivots from a sample. */
+    static final int SAMPLE_THRESHOLD = 600;
+
+    private Selection() {
+    }
+
+    /**
+     * Returns the value that would be at index {@code k} if the array were sorted ascending.
+     * The array is reordered so that {@code a[k]} holds that value, everything left of it is
+     * not greater and everything right of it is not smaller.
+     */
+    public static int select(int[] a, int k) {
+        if (k < 0 || k >= a.length) {
+            throw new IndexOutOfBoundsException("k = " + k + ", length = " + a.length);
+        }
+        select(a, 0, a.length - 1, k, 2 * (32 - Integer.numberOfLeadingZeros(a.length)) + 4);
+        return a[k];
+    }
+
+    private static void select(int[] a, int left, int right, int k, int budget) {
+        while (right > left) {
+            if (--budget < 0) {
+                int[] rest = Arrays.copyOfRange(a, left, right + 1);
+                HybridSort.sort(rest);
+                System.arraycopy(rest, 0, a, left, rest.length);
+                return;
+            }
+
+            if (right - left > SAMPLE_THRESHOLD) {
+                // recurse on a sample so the pivot lands close to rank k
+                int n = right - left + 1;
+                int i = k - left + 1;
+                double z = Math.log(n);
+                double s = 0.5 * Math.exp(2 * z / 3);
+                double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(i - n / 2.0);
+                int newLeft = (int) Math.max(left, Math.floor(k - i * s / n + sd));
+                int newRight = (int) Math.min(right, Math.floor(k + (n - i) * s / n + sd));
+                select(a, newLeft, newRight, k, budget);
+            }
+
+            int pivot = a[k];
+            int i = left;
+            int j = right;
+            swap(a, left, k);
+            if (a[right] > pivot) swap(a, right, left);
+
+            while (i < j) {
+                swap(a, i, j);
+                i++;
+                j--;
+                while (a[i] < pivot) i++;
+                while (a[j] > pivot) j--;
+            }
+
+            if (a[left] == pivot) {
+                swap(a, left, j);
+            } else {
+                j++;
+                swap(a, j, right);
+            }
+
+            if (j <= k) left = j + 1;
+            if (k <= j) right = j - 1;
+        }
+    }
+
+    /**
+     * Nearest-rank quantile: the smallest value with at least {@code q * n} values at or below it.
+     * Reorders {@code a}.
+     */
+    public static int quantile(int[] a, double q) {
+        if (a.length == 0) throw new IllegalArgumentException("No values");
+        if (q < 0 || q > 1) throw new IllegalArgumentException("q must be in [0, 1]: " + q);
+        int rank = (int) Math.ceil(q * a.length);
+        return select(a, Math.max(0, rank - 1));
+    }
+
+    /**
+     * Returns the {@code k} largest values in descending order, in O(n log k) time and O(k) space.
+     */
+    public static int[] topK(int[] a, int k) {
+        k = Math.min(k, a.length);
+        if (k <= 0) return new int[0];
+
+        int[] heap = new int[k];
+        int size = 0;
+        for (int value : a) {
+            if (size < k) {
+                heap[size] = value;
+                siftUp(heap, size++);
+            } else if (value > heap[0]) {
+                heap[0] = value;
+                siftDown(heap, 0, k);
+            }
+        }
+
+        // repeatedly move the minimum to the end, leaving the heap sorted descending
+        for (int last = k - 1; last > 0; last--) {
+            swap(heap, 0, last);
+            siftDown(heap, 0, last);
+        }
+        return heap;
+    }
+
+    private static void siftUp(int[] heap, int i) {
+        int value = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    private static void siftDown(int[] heap, int i, int size) {
+        int value = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (value <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+}
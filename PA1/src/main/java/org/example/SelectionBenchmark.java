@@ -0,0 +1,76 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares percentile and top-k queries on the Flow Duration column against sorting
+ * the whole column and indexing into it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SelectionBenchmark {
+
+    @Param({"Random", "Sorted", "Reversed"})
+    public String shape;
+
+    @Param({"16000", "64000", "250000"})
+    public int size;
+
+    @Param({"1000"})
+    public int topK;
+
+    private int[] input;
+    private int[] working;
+
+    @Setup(Level.Trial)
+    public void loadInput() {
+        int[] csvData = Main.readCSV(System.getProperty(SortBenchmark.DATASET_PROPERTY, SortBenchmark.DEFAULT_DATASET), 2);
+        if (csvData.length < size) {
+            throw new IllegalStateException("Dataset has " + csvData.length + " values, need " + size);
+        }
+        input = SortBenchmark.shapeInput(Arrays.copyOf(csvData, size), shape);
+    }
+
+    @Setup(Level.Invocation)
+    public void copyInput() {
+        working = Arrays.copyOf(input, input.length);
+    }
+
+    @Benchmark
+    public int p99SortThenIndex() {
+        Arrays.sort(working);
+        return working[(int) Math.ceil(0.99 * working.length) - 1];
+    }
+
+    @Benchmark
+    public int p99Select() {
+        return Selection.quantile(working, 0.99);
+    }
+
+    @Benchmark
+    public long p99Sketch() {
+        KllSketch sketch = new KllSketch(200);
+        for (int value : working) sketch.update(value);
+        return sketch.quantile(0.99);
+    }
+
+    @Benchmark
+    public int[] topKSortThenSlice() {
+        Arrays.sort(working);
+        int[] top = new int[Math.min(topK, working.length)];
+        for (int i = 0; i < top.length; i++) top[i] = working[working.length - 1 - i];
+        return top;
+    }
+
+    @Benchmark
+    public int[] topKHeap() {
+        return Selection.topK(working, topK);
+    }
+}
@@ -0,0 +1,136 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH harness for the sorting analysis.
+ * Every (algorithm, input shape, size) cell is forked, warmed up and measured separately.
+ * <p>
+ * Each call copies the input into a reused buffer and sorts it. The copy is timed with the sort
+ * instead of running in a {@code Level.Invocation} fixture, whose timestamping overhead would swamp
+ * the sub-millisecond cells; {@link CopyBaseline} measures the copy alone so it can be subtracted.
+ * The output of the last call of every iteration is checked against {@code Arrays.sort}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SortBenchmark {
+
+    public static final String DATASET_PROPERTY = "sort.dataset";
+    public static final String DEFAULT_DATASET = "src/main/resources/TrafficFlowDataset.csv";
+
+    @Param({"Comb", "Insertion", "Shaker", "Shell", "Radix", "ParallelRadix", "Hybrid", "AmericanFlag", "Arrays.sort", "Arrays.parallelSort"})
+    public String algorithm;
+
+    @Param({"Random", "Sorted", "Reversed"})
+    public String shape;
+
+    @Param({"500", "1000", "2000", "4000", "8000", "16000", "32000", "64000", "128000", "250000"})
+    public int size;
+
+    private int[] input;
+    private int[] expected;
+    private int[] working;
+    private boolean sortedOnce;
+
+    @Setup(Level.Trial)
+    public void loadInput() {
+        int[] csvData = Main.readCSV(System.getProperty(DATASET_PROPERTY, DEFAULT_DATASET), 2);
+        if (csvData.length < size) {
+            throw new IllegalStateException("Dataset has " + csvData.length + " values, need " + size);
+        }
+
+        input = shapeInput(Arrays.copyOf(csvData, size), shape);
+        expected = Arrays.copyOf(input, size);
+        Arrays.sort(expected);
+        working = new int[size];
+    }
+
+    @TearDown(Level.Iteration)
+    public void verifySorted() {
+        if (sortedOnce && !Arrays.equals(working, expected)) {
+            throw new IllegalStateException(algorithm + " did not sort " + shape + " input of size " + size);
+        }
+    }
+
+    @Benchmark
+    public int[] sort() {
+        System.arraycopy(input, 0, working, 0, size);
+        sortWith(algorithm, working);
+        sortedOnce = true;
+        return working;
+    }
+
+    /**
+     * The input copy made by every {@link SortBenchmark#sort()} call, alone.
+     * Its time per call is the part of each sort cell of the same size that is not sorting.
+     */
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(2)
+    public static class CopyBaseline {
+
+        @Param({"500", "1000", "2000", "4000", "8000", "16000", "32000", "64000", "128000", "250000"})
+        public int size;
+
+        private int[] input;
+        private int[] working;
+
+        @Setup(Level.Trial)
+        public void allocate() {
+            input = new java.util.Random(size).ints(size).toArray();
+            working = new int[size];
+        }
+
+        @Benchmark
+        public int[] copy() {
+            System.arraycopy(input, 0, working, 0, size);
+            return working;
+        }
+    }
+
+    public static int[] shapeInput(int[] randomData, String shape) {
+        switch (shape) {
+            case "Random": return randomData;
+            case "Sorted": {
+                int[] sortedData = Arrays.copyOf(randomData, randomData.length);
+                Arrays.sort(sortedData);
+                return sortedData;
+            }
+            case "Reversed": {
+                int[] sortedData = Arrays.copyOf(randomData, randomData.length);
+                Arrays.sort(sortedData);
+                return Main.reverseArray(sortedData);
+            }
+            default: throw new IllegalArgumentException("Unknown input shape: " + shape);
+        }
+    }
+
+    public static void sortWith(String algorithm, int[] array) {
+        switch (algorithm) {
+            case "Arrays.sort": Arrays.sort(array); break;
+            case "Arrays.parallelSort": Arrays.parallelSort(array); break;
+            default: Main.applySort(algorithm, array); break;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SortBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,108 @@
+package org.example;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Memory and operation counts of a single sort run.
+ * <p>
+ * Allocated bytes are summed over all live threads through
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long[])}, so work done on the
+ * fork-join pool is included. The peak heap delta is the sum of the per-pool peaks minus the
+ * heap in use before the run, which is an upper bound on the extra heap the sort needed.
+ * Sorts whose auxiliary memory is known in advance also report that figure, so it can be read next
+ * to the measured allocation.
+ */
+public class SortMetrics {
+
+    public final long allocatedBytes;
+    public final long gcCount;
+    public final long gcTimeMillis;
+    public final long peakHeapDelta;
+    public final long comparisons;
+    public final long swaps;
+    public final long writes;
+    /** Auxiliary bytes the sort is documented to need, or -1 if it does not declare a figure. */
+    public final long auxiliaryBytes;
+
+    SortMetrics(long allocatedBytes, long gcCount, long gcTimeMillis, long peakHeapDelta,
+                long comparisons, long swaps, long writes, long auxiliaryBytes) {
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcTimeMillis = gcTimeMillis;
+        this.peakHeapDelta = peakHeapDelta;
+        this.comparisons = comparisons;
+        this.swaps = swaps;
+        this.writes = writes;
+        this.auxiliaryBytes = auxiliaryBytes;
+    }
+
+    /**
+     * Sorts one copy of {@code input} with the real implementation while watching allocation,
+     * GC and heap, then sorts another copy with the instrumented variant to count operations.
+     */
+    public static SortMetrics measure(String sortType, int[] input) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+
+        int[] array = Arrays.copyOf(input, input.length);
+
+        long heapBefore = 0;
+        for (MemoryPoolMXBean pool : pools) {
+            if (pool.getType() != MemoryType.HEAP) continue;
+            pool.resetPeakUsage();
+            heapBefore += pool.getUsage().getUsed();
+        }
+        long gcCountBefore = 0;
+        long gcTimeBefore = 0;
+        for (GarbageCollectorMXBean gc : collectors) {
+            gcCountBefore += Math.max(0, gc.getCollectionCount());
+            gcTimeBefore += Math.max(0, gc.getCollectionTime());
+        }
+        long allocatedBefore = totalAllocatedBytes(threads);
+
+        Main.applySort(sortType, array);
+
+        long allocated = Math.max(0, totalAllocatedBytes(threads) - allocatedBefore);
+        long gcCount = -gcCountBefore;
+        long gcTime = -gcTimeBefore;
+        for (GarbageCollectorMXBean gc : collectors) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcTime += Math.max(0, gc.getCollectionTime());
+        }
+        long heapPeak = 0;
+        for (MemoryPoolMXBean pool : pools) {
+            if (pool.getType() == MemoryType.HEAP) heapPeak += pool.getPeakUsage().getUsed();
+        }
+
+        CountingSorts counter = new CountingSorts();
+        counter.apply(sortType, Arrays.copyOf(input, input.length));
+
+        return new SortMetrics(allocated, gcCount, gcTime, Math.max(0, heapPeak - heapBefore),
+                counter.comparisons, counter.swaps, counter.writes, auxiliaryBytes(sortType));
+    }
+
+    /**
+     * Declared auxiliary memory of a sort on int keys, independent of the input length,
+     * or -1 for sorts that do not declare one.
+     */
+    static long auxiliaryBytes(String sortType) {
+        switch (sortType) {
+            case "AmericanFlag": return AmericanFlagSort.auxiliaryBytes(Integer.SIZE);
+            default: return -1;
+        }
+    }
+
+    private static long totalAllocatedBytes(com.sun.management.ThreadMXBean threads) {
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) total += bytes;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,155 @@
+package org.example;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD block kernel on the preferred int species.
+ * <p>
+ * Each vector is sorted in-register with a bitonic network whose compare-exchanges are a lane
+ * permutation, a min, a max and a blend. Sorted vectors are then merged pairwise with the
+ * register-level bitonic merge: reverse one input, take lane-wise min/max, and clean both halves.
+ * The same two-register merge drives the streaming merge of longer runs.
+ * Only loaded by {@link BlockSorter#create()} when {@code jdk.incubator.vector} is available.
+ */
+final class VectorBlockSorter extends BlockSorter {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int LOG_LANES = Integer.numberOfTrailingZeros(LANES);
+
+    /** partner[d]: lane i swaps with lane i ^ 2^d. */
+    private final VectorShuffle<Integer>[] partner;
+    /** upper[d]: lanes whose bit d is set, which take the max in an ascending compare-exchange. */
+    private final VectorMask<Integer>[] upper;
+    /** takeMax[s][d]: lanes taking the max at stage 2^s, distance 2^d of the in-register sort. */
+    private final VectorMask<Integer>[][] takeMax;
+    private final VectorShuffle<Integer> reverse;
+
+    private final int[] scratch = new int[BLOCK];
+
+    VectorBlockSorter() {
+        if (BLOCK % LANES != 0) {
+            throw new IllegalStateException(LANES + " lanes do not divide the block size " + BLOCK);
+        }
+
+        partner = onIntSpecies(new VectorShuffle<?>[LOG_LANES]);
+        upper = onIntSpecies(new VectorMask<?>[LOG_LANES]);
+        takeMax = onIntSpecies(new VectorMask<?>[LOG_LANES + 1][LOG_LANES]);
+        for (int d = 0; d < LOG_LANES; d++) {
+            int bit = 1 << d;
+            partner[d] = VectorShuffle.fromOp(SPECIES, i -> i ^ bit);
+            upper[d] = mask(i -> (i & bit) != 0);
+        }
+        for (int s = 1; s <= LOG_LANES; s++) {
+            int stage = 1 << s;
+            for (int d = 0; d < s; d++) {
+                int bit = 1 << d;
+                takeMax[s][d] = mask(i -> ((i & bit) != 0) != ((i & stage) != 0));
+            }
+        }
+        reverse = VectorShuffle.fromOp(SPECIES, i -> LANES - 1 - i);
+    }
+
+    /** Generic arrays cannot be created directly; every element stored is on the int species. */
+    @SuppressWarnings("unchecked")
+    private static <A> A onIntSpecies(Object wildcardArray) {
+        return (A) wildcardArray;
+    }
+
+    private static VectorMask<Integer> mask(java.util.function.IntPredicate lane) {
+        boolean[] bits = new boolean[LANES];
+        for (int i = 0; i < LANES; i++) bits[i] = lane.test(i);
+        return VectorMask.fromArray(SPECIES, bits, 0);
+    }
+
+    @Override
+    public String name() {
+        return "Vector" + LANES;
+    }
+
+    @Override
+    void sortBlock(int[] a, int from) {
+        for (int v = from; v < from + BLOCK; v += LANES) {
+            sortVector(IntVector.fromArray(SPECIES, a, v)).intoArray(a, v);
+        }
+
+        // merge sorted vectors bottom-up inside the block, ping-ponging with the scratch buffer
+        int[] src = a;
+        int srcBase = from;
+        int[] dst = scratch;
+        int dstBase = 0;
+        for (int width = LANES; width < BLOCK; width *= 2) {
+            for (int lo = 0; lo < BLOCK; lo += 2 * width) {
+                mergeRuns(src, srcBase + lo, srcBase + lo + width, srcBase + lo + 2 * width, dst, dstBase + lo);
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+            int tb = srcBase;
+            srcBase = dstBase;
+            dstBase = tb;
+        }
+
+        if (src != a) {
+            System.arraycopy(src, srcBase, a, from, BLOCK);
+        }
+    }
+
+    @Override
+    void merge(int[] src, int lo, int mid, int hi, int[] dst) {
+        mergeRuns(src, lo, mid, hi, dst, lo);
+    }
+
+    /**
+     * Streaming merge of two sorted runs whose lengths are multiples of the lane count.
+     * The larger half of every two-register merge stays in a register and is merged with the next
+     * vector from whichever run has the smaller head.
+     */
+    private void mergeRuns(int[] src, int lo, int mid, int hi, int[] dst, int out) {
+        int i = lo + LANES;
+        int j = mid + LANES;
+        IntVector carry = IntVector.fromArray(SPECIES, src, lo);
+        IntVector next = IntVector.fromArray(SPECIES, src, mid);
+
+        while (true) {
+            IntVector reversed = next.rearrange(reverse);
+            IntVector low = clean(carry.min(reversed));
+            carry = clean(carry.max(reversed));
+            low.intoArray(dst, out);
+            out += LANES;
+
+            if (i < mid && (j >= hi || src[i] <= src[j])) {
+                next = IntVector.fromArray(SPECIES, src, i);
+                i += LANES;
+            } else if (j < hi) {
+                next = IntVector.fromArray(SPECIES, src, j);
+                j += LANES;
+            } else {
+                break;
+            }
+        }
+        carry.intoArray(dst, out);
+    }
+
+    private IntVector sortVector(IntVector v) {
+        for (int s = 1; s <= LOG_LANES; s++) {
+            for (int d = s - 1; d >= 0; d--) {
+                IntVector p = v.rearrange(partner[d]);
+                v = v.min(p).blend(v.max(p), takeMax[s][d]);
+            }
+        }
+        return v;
+    }
+
+    /** Sorts a bitonic vector. */
+    private IntVector clean(IntVector v) {
+        for (int d = LOG_LANES - 1; d >= 0; d--) {
+            IntVector p = v.rearrange(partner[d]);
+            v = v.min(p).blend(v.max(p), upper[d]);
+        }
+        return v;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example;
+
+/**
+ * Checks the edge cases of {@link RegressionCheck#slowerPValue}. There is no test framework in the
+ * build, so the checks run from {@code main} and fail with an {@link AssertionError}.
+ */
+public class RegressionCheckTest {
+
+    public static void main(String[] args) {
+        singleSamplesAreNeverSignificant();
+        constantSamplesCompareByMean();
+        clearSlowdownIsSignificant();
+        System.out.println("RegressionCheckTest passed");
+    }
+
+    static void singleSamplesAreNeverSignificant() {
+        check(RegressionCheck.slowerPValue(new double[]{20}, new double[]{10}) == 1, "n = 1 against n = 1");
+        check(RegressionCheck.slowerPValue(new double[]{20}, new double[]{10, 10, 11}) == 1, "n = 1 against n = 3");
+        check(RegressionCheck.slowerPValue(new double[]{20, 21, 22}, new double[]{10}) == 1, "n = 3 against n = 1");
+    }
+
+    static void constantSamplesCompareByMean() {
+        check(RegressionCheck.slowerPValue(new double[]{12, 12, 12}, new double[]{10, 10, 10}) == 0, "constant, slower");
+        check(RegressionCheck.slowerPValue(new double[]{10, 10, 10}, new double[]{12, 12, 12}) == 1, "constant, faster");
+        check(RegressionCheck.slowerPValue(new double[]{10, 10}, new double[]{10, 10}) == 1, "constant, equal");
+    }
+
+    static void clearSlowdownIsSignificant() {
+        double p = RegressionCheck.slowerPValue(new double[]{20, 21, 19, 20, 22}, new double[]{10, 11, 9, 10, 10});
+        check(p < 0.001, "clear slowdown, p = " + p);
+        double q = RegressionCheck.slowerPValue(new double[]{10, 11, 9, 10, 10}, new double[]{20, 21, 19, 20, 22});
+        check(q > 0.999, "clear speed-up, p = " + q);
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) throw new AssertionError(what);
+    }
+}
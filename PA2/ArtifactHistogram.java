@@ -0,0 +1,401 @@
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A batch of artifacts stored as the number of artifacts of each weight.
+ *
+ * Since a ship holds at most 100 units, a batch has at most 101 distinct packable weights,
+ * so the whole batch fits in a fixed-size histogram however many artifacts it has. The packing
+ * heuristics below work on that histogram and place all identical artifacts that go into a
+ * group of identical ships in one step, in O(capacity²) time and memory.
+ */
+public class ArtifactHistogram {
+
+    /**
+     * Largest batch the exact mode expands into single artifacts for {@link MinShipsBB}.
+     */
+    static final long EXACT_SEARCH_LIMIT = 1_000_000;
+
+    /**
+     * Capacity of every ship.
+     */
+    private final int capacity;
+
+    /**
+     * counts[w] is the number of artifacts of weight w, for w in [0, capacity].
+     */
+    private final long[] counts;
+
+    /**
+     * Number of artifacts heavier than a ship; each one travels alone.
+     */
+    private long oversized;
+
+    /**
+     * Creates an empty histogram.
+     *
+     * @param capacity Capacity of every ship.
+     */
+    ArtifactHistogram(int capacity) {
+        this.capacity = capacity;
+        this.counts = new long[capacity + 1];
+    }
+
+    /**
+     * Builds a histogram from an artifact list.
+     *
+     * @param artifacts Artifact weights.
+     * @param capacity  Capacity of every ship.
+     * @return The histogram of the weights.
+     */
+    public static ArtifactHistogram fromList(ArrayList<Integer> artifacts, int capacity) {
+        ArtifactHistogram histogram = new ArtifactHistogram(capacity);
+        for (int w : artifacts) histogram.add(w, 1);
+        return histogram;
+    }
+
+    /**
+     * Parses one line of the artifact file, such as {@code ["26","46","41"]}.
+     *
+     * @param line     A line of the artifact file.
+     * @param capacity Capacity of every ship.
+     * @return The histogram of the weights in the line.
+     * @throws NumberFormatException If a value is not an integer.
+     */
+    public static ArtifactHistogram parse(CharSequence line, int capacity) {
+        try {
+            return read(new StringReader(line.toString()), capacity);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // a StringReader does not fail
+        }
+    }
+
+    /**
+     * Reads the next line of the artifact file straight into a histogram, without building
+     * a String or an Integer per artifact, so a line may hold any number of artifacts.
+     * Brackets and quotes are ignored, values are separated by commas, and spaces around
+     * values are allowed, as in {@link ArtifactPipeline#parseBatch(String)}.
+     *
+     * @param in       Source positioned at the start of a line; best buffered.
+     * @param capacity Capacity of every ship.
+     * @return The histogram of the weights in the line, or null at the end of the input.
+     * @throws IOException If reading fails.
+     * @throws NumberFormatException If a value is not an integer.
+     */
+    public static ArtifactHistogram read(Reader in, int capacity) throws IOException {
+        int c = in.read();
+        if (c == -1) return null;
+
+        ArtifactHistogram histogram = new ArtifactHistogram(capacity);
+        long value = 0;
+        int digits = 0;
+        boolean negative = false;
+        boolean signed = false;
+        boolean ended = false; // a space followed the digits of the current value
+
+        for (; c != -1 && c != '\n'; c = in.read()) {
+            if (c == ',') {
+                histogram.addParsed(value, digits, negative, signed);
+                value = 0;
+                digits = 0;
+                negative = false;
+                signed = false;
+                ended = false;
+            } else if (c == '[' || c == ']' || c == '"' || c == '\r') {
+                // removed by the line format, like replaceAll("[\\[\\]\"]", "")
+            } else if (c == ' ' || c == '\t') {
+                ended = digits > 0 || signed;
+            } else if (c >= '0' && c <= '9' && !ended) {
+                value = value * 10 + (c - '0');
+                if (value > (long) Integer.MAX_VALUE + 1) {
+                    throw new NumberFormatException("Number does not fit in an int");
+                }
+                digits++;
+            } else if ((c == '-' || c == '+') && digits == 0 && !signed) {
+                negative = c == '-';
+                signed = true;
+            } else {
+                throw new NumberFormatException("Unexpected character '" + (char) c + "' in artifact line");
+            }
+        }
+        histogram.addParsed(value, digits, negative, signed);
+        return histogram;
+    }
+
+    /**
+     * Adds the value that ended at a comma or at the end of the line, if the field was not empty.
+     */
+    private void addParsed(long value, int digits, boolean negative, boolean signed) {
+        if (digits == 0) {
+            if (signed) throw new NumberFormatException("Sign without digits");
+            return;
+        }
+        long weight = negative ? -value : value;
+        if (weight > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Number does not fit in an int");
+        }
+        add((int) weight, 1);
+    }
+
+    /**
+     * Adds artifacts of one weight.
+     *
+     * @param weight Weight of the artifacts.
+     * @param count  Number of artifacts to add.
+     * @throws IllegalArgumentException If the weight is negative.
+     */
+    void add(int weight, long count) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Artifact weights must not be negative: " + weight);
+        }
+        if (weight > capacity) {
+            oversized += count;
+        } else {
+            counts[weight] += count;
+        }
+    }
+
+    /**
+     * @return Capacity of every ship.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @param weight A weight in [0, capacity].
+     * @return The number of artifacts of that weight.
+     */
+    public long getCount(int weight) {
+        return counts[weight];
+    }
+
+    /**
+     * @return The number of artifacts heavier than a ship.
+     */
+    public long getOversized() {
+        return oversized;
+    }
+
+    /**
+     * @return The number of artifacts in the batch.
+     */
+    public long size() {
+        long n = oversized;
+        for (long c : counts) n += c;
+        return n;
+    }
+
+    /**
+     * Counts the ships first-fit decreasing uses, giving the same number as {@link MinShipsGP}.
+     *
+     * Ships are kept in opening order as runs of consecutive ships with the same free room.
+     * For one weight, first fit fills the ships of a run one after another, so a whole run
+     * is updated at once and only the run where the artifacts run out is split. Each weight
+     * adds at most four runs, so there are O(capacity) runs.
+     *
+     * @return The number of ships used.
+     */
+    public long firstFitDecreasing() {
+        int[] room = new int[4 * (capacity + 2)];
+        long[] ships = new long[room.length];
+        int runs = 0;
+
+        for (int w = capacity; w >= 1; w--) {
+            long left = counts[w];
+            for (int i = 0; i < runs && left > 0; i++) {
+                int r = room[i];
+                if (r < w) continue;
+                int perShip = r / w;
+                long full = Math.min(ships[i], left / perShip);
+                left -= full * perShip;
+                if (full == ships[i]) {
+                    room[i] = r - perShip * w;
+                    continue;
+                }
+
+                // the artifacts run out inside this run: full ships, one partly filled ship, untouched ships
+                int partial = left > 0 ? 1 : 0;
+                long untouched = ships[i] - full - partial;
+                int pieces = (full > 0 ? 1 : 0) + partial + (untouched > 0 ? 1 : 0);
+                System.arraycopy(room, i + 1, room, i + pieces, runs - i - 1);
+                System.arraycopy(ships, i + 1, ships, i + pieces, runs - i - 1);
+                runs += pieces - 1;
+                int j = i;
+                if (full > 0) {
+                    room[j] = r - perShip * w;
+                    ships[j++] = full;
+                }
+                if (partial > 0) {
+                    room[j] = r - (int) left * w;
+                    ships[j++] = 1;
+                }
+                if (untouched > 0) {
+                    room[j] = r;
+                    ships[j] = untouched;
+                }
+                left = 0;
+            }
+
+            if (left > 0) {
+                int perShip = capacity / w;
+                runs = append(room, ships, runs, capacity - perShip * w, left / perShip);
+                runs = append(room, ships, runs, capacity - (int) (left % perShip) * w, left % perShip > 0 ? 1 : 0);
+            }
+            runs = merge(room, ships, runs);
+        }
+
+        long total = 0;
+        for (int i = 0; i < runs; i++) total += ships[i];
+        return oversized + withWeightless(total);
+    }
+
+    /**
+     * Counts the ships best-fit decreasing uses: each artifact goes into the ship with the least
+     * free room that still fits it. Ships with the same free room are interchangeable, so only the
+     * number of ships per free room is kept, and a ship keeps taking identical artifacts until it
+     * is too full for the next one.
+     *
+     * @return The number of ships used.
+     */
+    public long bestFitDecreasing() {
+        long[] ships = new long[capacity + 1]; // ships[r]: open ships with r units free
+        long opened = 0;
+
+        for (int w = capacity; w >= 1; w--) {
+            long left = counts[w];
+            for (int r = w; r <= capacity && left > 0; r++) {
+                if (ships[r] == 0) continue;
+                int perShip = r / w;
+                long full = Math.min(ships[r], left / perShip);
+                ships[r] -= full;
+                ships[r - perShip * w] += full;
+                left -= full * perShip;
+                if (left > 0 && ships[r] > 0) {
+                    ships[r]--;
+                    ships[r - (int) left * w]++;
+                    left = 0;
+                }
+            }
+
+            if (left > 0) {
+                int perShip = capacity / w;
+                ships[capacity - perShip * w] += left / perShip;
+                opened += left / perShip;
+                if (left % perShip > 0) {
+                    ships[capacity - (int) (left % perShip) * w]++;
+                    opened++;
+                }
+            }
+        }
+        return oversized + withWeightless(opened);
+    }
+
+    /**
+     * Martello–Toth lower bound on the number of ships.
+     *
+     * @return The L2 bound of the packable artifacts plus one ship per oversized artifact.
+     */
+    public long lowerBound() {
+        long packable = 0;
+        for (int w = 1; w <= capacity; w++) packable += counts[w];
+        return oversized + (packable > 0 ? MinShipsBB.lowerBoundL2(counts, capacity) : withWeightless(0));
+    }
+
+    /**
+     * Packs the batch with first-fit decreasing.
+     *
+     * @return The solution, with the same ship count as {@link MinShipsGP}.
+     */
+    public OptimalShipSolution pack() {
+        return new OptimalShipSolution(this, Math.toIntExact(firstFitDecreasing()), -1);
+    }
+
+    /**
+     * Packs the batch as tightly as the time budget allows. The better of first-fit and best-fit
+     * decreasing is returned when it meets the lower bound; otherwise batches of up to
+     * {@link #EXACT_SEARCH_LIMIT} artifacts are searched with {@link MinShipsBB}.
+     *
+     * @param budgetMillis Time budget of the search.
+     * @param pool         Pool for the search, or null to search on the calling thread.
+     * @return The solution with its proven lower bound.
+     * @throws FileNotFoundException Never; required by the solver signature.
+     */
+    public OptimalShipSolution packExact(long budgetMillis, ForkJoinPool pool) throws FileNotFoundException {
+        long lower = lowerBound();
+        long best = Math.min(firstFitDecreasing(), bestFitDecreasing());
+        if (best > lower && size() <= EXACT_SEARCH_LIMIT) {
+            OptimalShipSolution searched = new MinShipsBB(toList(), budgetMillis).optimalArtifactCarryingAlgorithm(pool);
+            best = Math.min(best, searched.getSolution());
+            lower = Math.max(lower, searched.getLowerBound());
+        }
+        return new OptimalShipSolution(this, Math.toIntExact(best), Math.toIntExact(lower));
+    }
+
+    /**
+     * Weightless artifacts fit in any ship that is not overloaded, but need one of their own if there is none.
+     */
+    private long withWeightless(long ships) {
+        return ships == 0 && counts[0] > 0 ? 1 : ships;
+    }
+
+    private static int append(int[] room, long[] ships, int runs, int r, long count) {
+        if (count == 0) return runs;
+        room[runs] = r;
+        ships[runs] = count;
+        return runs + 1;
+    }
+
+    /**
+     * Joins neighbouring runs with the same free room.
+     */
+    private static int merge(int[] room, long[] ships, int runs) {
+        int out = 0;
+        for (int i = 0; i < runs; i++) {
+            if (out > 0 && room[out - 1] == room[i]) {
+                ships[out - 1] += ships[i];
+            } else {
+                room[out] = room[i];
+                ships[out++] = ships[i];
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Expands the histogram into single artifacts, heaviest first. Oversized artifacts are
+     * listed with weight capacity + 1, since only their number is kept.
+     *
+     * @return The artifact weights.
+     */
+    public ArrayList<Integer> toList() {
+        ArrayList<Integer> artifacts = new ArrayList<>(Math.toIntExact(size()));
+        for (long i = 0; i < oversized; i++) artifacts.add(capacity + 1);
+        for (int w = capacity; w >= 0; w--) {
+            for (long i = 0; i < counts[w]; i++) artifacts.add(w);
+        }
+        return artifacts;
+    }
+
+    /**
+     * Formats the non-empty weights, heaviest first, as weight=count pairs.
+     *
+     * @return A string such as "{>100=1, 97=2, 26=5}".
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        if (oversized > 0) sb.append('>').append(capacity).append('=').append(oversized);
+        for (int w = capacity; w >= 0; w--) {
+            if (counts[w] == 0) continue;
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(w).append('=').append(counts[w]);
+        }
+        return sb.append('}').toString();
+    }
+
+}
@@ -0,0 +1,169 @@
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the artifact transport stage as a three-stage pipeline: the calling thread reads batches,
+ * a fixed pool of workers parses and solves them, and a writer thread prints the results in input order.
+ *
+ * At most {@code 2 * threads} batches are in flight; the reader blocks when that many are waiting,
+ * so memory stays bounded however many lines the file has.
+ */
+public class ArtifactPipeline {
+
+    /**
+     * Marks the end of the input for the writer.
+     */
+    private static final Future<String> END = CompletableFuture.completedFuture(null);
+
+    /**
+     * Number of solver workers.
+     */
+    private final int threads;
+
+    /**
+     * Time budget of the exact solver per batch, or -1 to use the greedy count.
+     */
+    private final long exactBudgetMillis;
+
+    /**
+     * Heuristic used when the exact solver is off.
+     */
+    private final PackingStrategy strategy;
+
+    /**
+     * Constructs a pipeline.
+     *
+     * @param threads           Number of solver workers.
+     * @param exactBudgetMillis Time budget of the exact solver per batch, or -1 to use the greedy count.
+     * @param strategy          Heuristic used when the exact solver is off.
+     */
+    ArtifactPipeline(int threads, long exactBudgetMillis, PackingStrategy strategy) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one worker is needed");
+        }
+        this.threads = threads;
+        this.exactBudgetMillis = exactBudgetMillis;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Solves every batch from the reader and prints the solutions in the order of the lines.
+     * The first batch that fails, or a failure of the reader itself, stops the pipeline; the
+     * exception is rethrown once the solutions before it have been printed and the writer has ended.
+     *
+     * @param reader Source of artifact batches, one per line.
+     * @param out    Destination of the solutions.
+     * @throws IOException If reading fails or the pipeline is interrupted.
+     */
+    public void run(BufferedReader reader, PrintStream out) throws IOException {
+        BlockingQueue<Future<String>> inFlight = new ArrayBlockingQueue<>(2 * threads);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+
+        Thread writer = new Thread(() -> {
+            try {
+                Future<String> next;
+                while ((next = inFlight.take()) != END) {
+                    if (failure.get() != null) {
+                        next.cancel(true); // keep draining so the reader never blocks
+                        continue;
+                    }
+                    try {
+                        out.print(next.get());
+                    } catch (ExecutionException e) {
+                        failure.compareAndSet(null, e.getCause());
+                    } catch (RuntimeException | Error e) {
+                        failure.compareAndSet(null, e); // the writer must survive to drain the queue
+                    }
+                }
+            } catch (InterruptedException e) {
+                failure.compareAndSet(null, e);
+            }
+        }, "artifact-writer");
+        writer.setDaemon(true); // never keeps the JVM alive, even if this method is abandoned
+        writer.start();
+
+        Throwable readFailure = null;
+        try {
+            try {
+                String line;
+                while (failure.get() == null && (line = reader.readLine()) != null) {
+                    String batch = line;
+                    inFlight.put(workers.submit(() -> {
+                        OptimalShipSolution solution = solveBatch(parseBatch(batch), exactBudgetMillis, strategy, null);
+                        return solution.formatSolution(solution);
+                    }));
+                }
+            } catch (IOException | RuntimeException | Error e) {
+                readFailure = e; // the batches read before it are still printed
+            }
+            inFlight.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            writer.interrupt();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Artifact pipeline interrupted");
+        } finally {
+            workers.shutdownNow();
+        }
+
+        // a failed batch came from an earlier line than a read failure, which stopped the reading
+        Throwable error = failure.get() != null ? failure.get() : readFailure;
+        if (error == readFailure && error instanceof IOException) throw (IOException) error;
+        if (error instanceof RuntimeException) throw (RuntimeException) error;
+        if (error instanceof Error) throw (Error) error;
+        if (error != null) throw new IOException("Artifact batch failed", error);
+    }
+
+    /**
+     * Parses one line of the artifact file, such as {@code ["26","46","41"]}, into weights.
+     *
+     * @param line A line of the artifact file.
+     * @return The artifact weights in the line.
+     * @throws NumberFormatException If a value is not an integer.
+     */
+    static ArrayList<Integer> parseBatch(String line) {
+        line = line.replaceAll("[\\[\\]\"]", ""); // remove brackets and quotes
+        String[] values = line.split(",");
+
+        ArrayList<Integer> artifacts = new ArrayList<>();
+        for (String value : values) {
+            if (!value.trim().isEmpty()) {
+                artifacts.add(Integer.parseInt(value.trim()));
+            }
+        }
+        return artifacts;
+    }
+
+    /**
+     * Packs one batch with a greedy heuristic, or with the exact solver when a budget is given.
+     *
+     * @param artifacts         The artifact weights.
+     * @param exactBudgetMillis Time budget of the exact solver, or -1 to use the greedy count.
+     * @param strategy          Heuristic used when the exact solver is off.
+     * @param pool              Pool for the exact search, or null to search on the calling thread.
+     * @return The solution for the batch.
+     * @throws FileNotFoundException Never; required by the greedy solver signature.
+     */
+    static OptimalShipSolution solveBatch(ArrayList<Integer> artifacts, long exactBudgetMillis,
+                                          PackingStrategy strategy, ForkJoinPool pool) throws FileNotFoundException {
+        if (exactBudgetMillis >= 0) {
+            return new MinShipsBB(artifacts, exactBudgetMillis).optimalArtifactCarryingAlgorithm(pool);
+        }
+        MinShipsGP minShipHandler = new MinShipsGP(artifacts, strategy);
+        return minShipHandler.optimalArtifactCarryingAlgorithm();
+    }
+}
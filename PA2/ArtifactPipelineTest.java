@@ -0,0 +1,122 @@
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Checks that {@link ArtifactPipeline} prints the batches read before a failing reader, rethrows the
+ * failure and leaves no writer thread behind. There is no test framework in this assignment, so the
+ * checks run from {@code main} and fail with an {@link AssertionError}.
+ *
+ * Usage: java ArtifactPipelineTest
+ */
+public class ArtifactPipelineTest {
+
+    /**
+     * Runs the checks.
+     *
+     * @param args Unused.
+     * @throws InterruptedException If waiting for a leftover writer is interrupted.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        readerThrowingIOException();
+        readerThrowingError();
+        System.out.println("ArtifactPipelineTest passed");
+    }
+
+    /**
+     * A reader that fails on its fifth read with an IOException.
+     */
+    static void readerThrowingIOException() throws InterruptedException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try {
+            run(new FailingReader(5, new IOException("disk gone")), buffer);
+            throw new AssertionError("IOException was not rethrown");
+        } catch (IOException e) {
+            check(e.getMessage().equals("disk gone"), "unexpected exception " + e);
+        }
+        checkPrinted(buffer, 4);
+        checkWriterEnded();
+    }
+
+    /**
+     * A reader that fails on its fifth read with an Error.
+     */
+    static void readerThrowingError() throws InterruptedException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try {
+            run(new FailingReader(5, new Error("reader broke")), buffer);
+            throw new AssertionError("Error was not rethrown");
+        } catch (Error e) {
+            check(e.getMessage().equals("reader broke"), "unexpected error " + e);
+        } catch (IOException e) {
+            throw new AssertionError("Error was wrapped: " + e);
+        }
+        checkPrinted(buffer, 4);
+        checkWriterEnded();
+    }
+
+    private static void run(Reader reader, ByteArrayOutputStream buffer) throws IOException {
+        PrintStream out = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+        // the reader serves one line per read, so every readLine() reaches it
+        new ArtifactPipeline(2, -1, PackingStrategies.byName("ffd", MinShipsGP.MAX_CAPACITY))
+                .run(new BufferedReader(reader), out);
+    }
+
+    /**
+     * The batches read before the failure must all be printed.
+     */
+    private static void checkPrinted(ByteArrayOutputStream buffer, int batches) {
+        String printed = buffer.toString(StandardCharsets.UTF_8);
+        int count = printed.split("For the artifact set", -1).length - 1;
+        check(count == batches, "expected " + batches + " solutions but found " + count + " in:\n" + printed);
+    }
+
+    /**
+     * No writer thread may be left waiting for the end of the input.
+     */
+    private static void checkWriterEnded() throws InterruptedException {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("artifact-writer")) {
+                thread.join(2000);
+                check(!thread.isAlive(), "artifact-writer is still " + thread.getState());
+            }
+        }
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) throw new AssertionError(what);
+    }
+
+    /**
+     * Serves one artifact line per read and fails on a given read.
+     */
+    private static final class FailingReader extends Reader {
+        private final int failingRead;
+        private final Throwable failure;
+        private int reads;
+
+        FailingReader(int failingRead, Throwable failure) {
+            this.failingRead = failingRead;
+            this.failure = failure;
+        }
+
+        @Override
+        public int read(char[] target, int offset, int length) throws IOException {
+            if (++reads == failingRead) {
+                if (failure instanceof IOException) throw (IOException) failure;
+                throw (Error) failure;
+            }
+            String line = "[\"26\",\"46\",\"41\",\"" + reads + "\"]\n";
+            int n = Math.min(length, line.length());
+            line.getChars(0, n, target, offset);
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
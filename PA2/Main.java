@@ -1,6 +1,6 @@
 import java.io.*;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Main class for running Safe-lock and Artifact transportation operations.
@@ -10,60 +10,61 @@ import java.util.Scanner;
  */
 public class Main {
     /**
-     * Entry point of the application. Expects two command-line arguments representing input files.
-     * @param args Command line arguments: two file paths.
+     * Entry point of the application. Expects two command-line arguments representing input files,
+     * optionally followed by the flags described in {@link Options}.
+     * @param args Command line arguments: two file paths and optional flags.
      * @throws IOException If reading from the files fails.
      */
     public static void main(String[] args) throws IOException {
         File fileA = new File(args[0]);
         File fileB = new File(args[1]);
+        Options options;
+        try {
+            options = Options.parse(args, 2);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
 
-        File safeFile;
-        File artifactFile;
+        try (InputStream inA = new FileInputStream(fileA); InputStream inB = new FileInputStream(fileB)) {
+            run(inA, inB, options, System.out);
+        }
+    }
+
+    /**
+     * Runs both operations on two inputs given in either order. Each input is read once:
+     * the first one is identified from its first line and then parsed from the same stream.
+     *
+     * @param inA     One input file, safe-lock or artifact.
+     * @param inB     The other input file.
+     * @param options Run options.
+     * @param out     Destination of the report.
+     * @throws IOException If reading the safe-lock input fails.
+     */
+    static void run(InputStream inA, InputStream inB, Options options, PrintStream out) throws IOException {
+        BufferedInputStream streamA = new BufferedInputStream(inA);
+        BufferedInputStream streamB = new BufferedInputStream(inB);
 
         /**
          * Determine which file is the safe-lock file by trying to parse the first line as an integer.
          * The safe file always starts with a number (number of safes).
          */
-        boolean isFileA_Safe = false;
-        try (Scanner testScanner = new Scanner(fileA)) {
-            String firstLine = testScanner.nextLine().trim();
-            Integer.parseInt(firstLine); // safe dosyasıysa ilk satır parse edilebilir
-            isFileA_Safe = true;
-        } catch (Exception ignored) {}
-
-        if (isFileA_Safe) {
-            safeFile = fileA;
-            artifactFile = fileB;
-        } else {
-            safeFile = fileB;
-            artifactFile = fileA;
-        }
+        boolean isFileA_Safe = startsWithNumber(streamA);
+        InputStream safeStream = isFileA_Safe ? streamA : streamB;
+        InputStream artifactStream = isFileA_Safe ? streamB : streamA;
 
         /**
          * ================================
          * Safe-lock Opening Algorithm
          * ================================
          */
-        System.out.println("##Initiate Operation Safe-lock##");
-
-        Scanner safeScanner = new Scanner(safeFile);
-        if (safeScanner.hasNextLine()) safeScanner.nextLine(); // Skip metadata line (number of safes)
-
-        ArrayList<ArrayList<Integer>> safes = new ArrayList<>();
+        out.println("##Initiate Operation Safe-lock##");
 
         /**
-         * Parse each line in the safe file to extract pairs of [complexity, scrolls].
+         * Parse the safe file straight into primitive [complexity, scrolls] columns.
          */
-        while (safeScanner.hasNextLine()) {
-            String line = safeScanner.nextLine().trim();
-            if (line.isEmpty()) continue;
-            String[] parts = line.split(",");
-            ArrayList<Integer> pair = new ArrayList<>();
-            pair.add(Integer.parseInt(parts[0].trim())); // complexity
-            pair.add(Integer.parseInt(parts[1].trim())); // scrolls
-            safes.add(pair);
-        }
+        SafeSet safes = SafeSet.read(safeStream);
 
         /**
          * Apply dynamic programming to find the maximum number of scrolls collectible
@@ -71,55 +72,143 @@ public class Main {
          */
         MaxScrollsDP dpSolver = new MaxScrollsDP(safes);
         OptimalScrollSolution scrollSolution = dpSolver.optimalSafeOpeningAlgorithm();
-        scrollSolution.printSolution(scrollSolution);
-        System.out.println("##Operation Safe-lock Completed##");
+        out.print(scrollSolution.formatSolution(scrollSolution));
+        out.println("##Operation Safe-lock Completed##");
 
         /**
          * ================================
          * Artifact Carrying Optimization
          * ================================
          */
-        System.out.println("##Initiate Operation Artifact##");
+        out.println("##Initiate Operation Artifact##");
 
-        BufferedReader reader = null;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(artifactStream));
         try {
-            reader = new BufferedReader(new FileReader(artifactFile));
             String line;
 
             /**
              * For each line (artifact batch), parse the list of artifact weights
              * and run the greedy optimization to minimize the number of ships used.
+             * With several threads the batches are solved concurrently and printed in order.
              */
-            while ((line = reader.readLine()) != null) {
-                line = line.replaceAll("[\\[\\]\"]", ""); // remove brackets and quotes
-                String[] values = line.split(",");
-
-                ArrayList<Integer> tempArrayList = new ArrayList<>();
-                for (String value : values) {
-                    if (!value.trim().isEmpty()) {
-                        tempArrayList.add(Integer.parseInt(value.trim()));
-                    }
+            if (options.histogramMode) {
+                // solving a histogram takes O(capacity²), so the batches are not worth spreading over threads
+                ArtifactHistogram histogram;
+                while ((histogram = ArtifactHistogram.read(reader, MinShipsGP.MAX_CAPACITY)) != null) {
+                    OptimalShipSolution shipSolutionHandler = options.exactBudgetMillis >= 0
+                            ? histogram.packExact(options.exactBudgetMillis, ForkJoinPool.commonPool())
+                            : histogram.pack();
+                    out.print(shipSolutionHandler.formatSolution(shipSolutionHandler));
+                }
+            } else if (options.threads > 1) {
+                new ArtifactPipeline(options.threads, options.exactBudgetMillis, options.strategy).run(reader, out);
+            } else {
+                while ((line = reader.readLine()) != null) {
+                    ArrayList<Integer> tempArrayList = ArtifactPipeline.parseBatch(line);
+                    OptimalShipSolution shipSolutionHandler = ArtifactPipeline.solveBatch(tempArrayList,
+                            options.exactBudgetMillis, options.strategy, ForkJoinPool.commonPool());
+                    out.print(shipSolutionHandler.formatSolution(shipSolutionHandler));
                 }
-
-                MinShipsGP minShipHandler = new MinShipsGP(tempArrayList);
-                OptimalShipSolution shipSolutionHandler = minShipHandler.optimalArtifactCarryingAlgorithm();
-                shipSolutionHandler.printSolution(shipSolutionHandler);
             }
 
-        } catch (FileNotFoundException e) {
-            System.err.println("File not found: " + artifactFile.getName());
         } catch (IOException e) {
-            System.err.println("Error reading file: " + artifactFile.getName());
-        } finally {
-            try {
-                if (reader != null) {
-                    reader.close();
+            System.err.println("Error reading the artifact file: " + e.getMessage());
+        }
+
+        out.print("##Operation Artifact Completed##");
+        out.flush();
+    }
+
+    /**
+     * Tells whether a stream starts with a line holding a single integer, as the safe-lock file does,
+     * and rewinds it. Only the first bytes are looked at, so a huge artifact line is not buffered.
+     *
+     * @param in A stream at its start.
+     * @return True if the first line is an integer, possibly surrounded by spaces.
+     * @throws IOException If reading fails.
+     */
+    static boolean startsWithNumber(BufferedInputStream in) throws IOException {
+        final int limit = 64;
+        in.mark(limit + 1);
+        StringBuilder firstLine = new StringBuilder();
+        int b;
+        // at most limit characters are kept plus the byte that ends them, so limit + 1 bytes are read in all
+        while ((b = in.read()) != -1 && b != '\n' && firstLine.length() < limit) {
+            firstLine.append((char) b);
+        }
+        boolean endOfLine = b == -1 || b == '\n';
+        boolean empty = b == -1 && firstLine.length() == 0;
+        in.reset();
+
+        if (empty || !endOfLine) return false;
+        try {
+            Integer.parseInt(firstLine.toString().trim()); // safe dosyasıysa ilk satır parse edilebilir
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Flags accepted after the two input files:
+     * {@code --exact[=millis]} proves the minimum number of ships with {@link MinShipsBB} instead of
+     * using the greedy count, {@code --parallel[=threads]} solves artifact batches concurrently through an
+     * {@link ArtifactPipeline}, {@code --histogram} reads each batch straight into an {@link ArtifactHistogram}
+     * and packs the weight counts, and {@code --strategy=name} picks another heuristic from
+     * {@link PackingStrategies} for the greedy count. The histogram mode always packs first-fit decreasing
+     * on one thread, so it cannot be combined with another strategy or with several threads.
+     */
+    static final class Options {
+        long exactBudgetMillis = -1;
+        int threads = 1;
+        boolean histogramMode = false;
+        String strategyName = "ffd";
+        PackingStrategy strategy = PackingStrategies.byName(strategyName, MinShipsGP.MAX_CAPACITY);
+
+        /**
+         * Parses the flags; unknown ones are ignored.
+         *
+         * @param args Command line arguments.
+         * @param from Index of the first flag.
+         * @return The options.
+         * @throws IllegalArgumentException If a strategy is unknown, or if flags that cannot be honoured together are given.
+         */
+        static Options parse(String[] args, int from) {
+            Options options = new Options();
+            for (int i = from; i < args.length; i++) {
+                if (args[i].equals("--exact")) {
+                    options.exactBudgetMillis = MinShipsBB.DEFAULT_BUDGET_MILLIS;
+                } else if (args[i].startsWith("--exact=")) {
+                    options.exactBudgetMillis = Long.parseLong(args[i].substring("--exact=".length()));
+                } else if (args[i].equals("--parallel")) {
+                    options.threads = Runtime.getRuntime().availableProcessors();
+                } else if (args[i].startsWith("--parallel=")) {
+                    options.threads = Integer.parseInt(args[i].substring("--parallel=".length()));
+                } else if (args[i].equals("--histogram")) {
+                    options.histogramMode = true;
+                } else if (args[i].startsWith("--strategy=")) {
+                    options.strategyName = args[i].substring("--strategy=".length());
+                    options.strategy = PackingStrategies.byName(options.strategyName, MinShipsGP.MAX_CAPACITY);
                 }
-            } catch (IOException e) {
-                System.err.println("Error closing the reader.");
             }
+            if (options.histogramMode && !options.strategyName.equals("ffd")) {
+                throw new IllegalArgumentException("--histogram packs first-fit decreasing and cannot use --strategy="
+                        + options.strategyName);
+            }
+            if (options.histogramMode && options.threads > 1) {
+                throw new IllegalArgumentException("--histogram runs on one thread and cannot be combined with --parallel");
+            }
+            return options;
         }
 
-        System.out.print("##Operation Artifact Completed##");
+        /**
+         * Describes the options that change the report; the thread count does not.
+         *
+         * @return A string such as "exact=-1 histogram=false strategy=ffd".
+         */
+        @Override
+        public String toString() {
+            return "exact=" + exactBudgetMillis + " histogram=" + histogramMode + " strategy=" + strategyName;
+        }
     }
 }
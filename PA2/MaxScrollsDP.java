@@ -1,13 +1,38 @@
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * The MaxScrollsDP class implements a dynamic programming solution
  * to determine the maximum number of scrolls that can be collected
  * by choosing optimal actions (produce knowledge, open safe, skip).
+ *
+ * Only two rows of the DP table are kept at any time, so memory is O(T)
+ * in the number of safes. When the action plan is requested, every
+ * checkpoint-th row is saved during the forward pass and the steps between
+ * two checkpoints are recomputed with 2-bit decision records while backtracking.
+ *
+ * Every cell of row i + 1 only reads row i, so wide rows are split into
+ * knowledge ranges that are filled concurrently on a fork-join pool.
  */
 public class MaxScrollsDP {
 
+    /** Knowledge gained by one produce action. */
+    static final int KNOWLEDGE_PER_STEP = 5;
+
+    /** Rows narrower than this are filled on the calling thread. */
+    static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    /** Smallest knowledge range given to one fork-join task; a multiple of 32 so decision words are not shared. */
+    static final int MIN_CHUNK = 1 << 13;
+
+    private static final int SKIP = 0;
+    private static final int PRODUCE = 1;
+    private static final int OPEN = 2;
+
     /**
      * A list where each element represents a safe.
      * Each safe is represented as a list of two integers:
@@ -16,6 +41,11 @@ public class MaxScrollsDP {
      */
     private final ArrayList<ArrayList<Integer>> safesDiscovered;
 
+    /**
+     * The same safes as primitive columns, which the DP reads from.
+     */
+    private final SafeSet safes;
+
     /**
      * Constructor to initialize the safesDiscovered list.
      *
@@ -23,15 +53,35 @@ public class MaxScrollsDP {
      */
     public MaxScrollsDP(ArrayList<ArrayList<Integer>> safesDiscovered) {
         this.safesDiscovered = safesDiscovered;
+        this.safes = SafeSet.fromList(safesDiscovered);
+    }
+
+    /**
+     * Constructor that works on primitive columns; no per-safe objects are created.
+     *
+     * @param safes The safes to choose from.
+     */
+    public MaxScrollsDP(SafeSet safes) {
+        this.safesDiscovered = null;
+        this.safes = safes;
     }
 
     /**
-     * Returns the list of discovered safes.
+     * Returns the list of discovered safes, building it if the solver was given a {@link SafeSet}.
      *
      * @return A list of safes, each with [complexity, scrolls].
      */
     public ArrayList<ArrayList<Integer>> getSafesDiscovered() {
-        return safesDiscovered;
+        return safesDiscovered != null ? safesDiscovered : safes.toList();
+    }
+
+    /**
+     * Returns the discovered safes as primitive columns.
+     *
+     * @return The safes the DP runs on.
+     */
+    public SafeSet getSafes() {
+        return safes;
     }
 
     /**
@@ -47,48 +97,215 @@ public class MaxScrollsDP {
      * @throws FileNotFoundException This method signature allows for compatibility, but no file operations occur here.
      */
     public OptimalScrollSolution optimalSafeOpeningAlgorithm() throws FileNotFoundException {
-        int T = safesDiscovered.size();
-        int maxKnowledge = 5 * T;
+        return optimalSafeOpeningAlgorithm(false);
+    }
 
-        // +2 because we sometimes look one step ahead; +10 keeps a little buffer
-        int[][] dp = new int[T + 2][maxKnowledge + 10];
+    /**
+     * Computes the optimal number of scrolls and, if requested, one sequence of actions that achieves it.
+     *
+     * @param recordPlan Whether to reconstruct the produce/open/skip action for every safe.
+     * @return An OptimalScrollSolution with the maximum scrolls and, when recorded, the action plan.
+     * @throws FileNotFoundException This method signature allows for compatibility, but no file operations occur here.
+     */
+    public OptimalScrollSolution optimalSafeOpeningAlgorithm(boolean recordPlan) throws FileNotFoundException {
+        return optimalSafeOpeningAlgorithm(recordPlan, ForkJoinPool.commonPool());
+    }
 
-        // Fill with -1 (unreachable states)
-        for (int i = 0; i <= T + 1; i++) {
-            for (int k = 0; k <= maxKnowledge + 5; k++) {
-                dp[i][k] = -1;
-            }
+    /**
+     * Computes the optimal number of scrolls, filling rows wider than {@link #PARALLEL_THRESHOLD} on the given pool.
+     *
+     * @param recordPlan Whether to reconstruct the produce/open/skip action for every safe.
+     * @param pool       The pool used for wide rows, or null to stay on the calling thread.
+     * @return An OptimalScrollSolution with the maximum scrolls and, when recorded, the action plan.
+     * @throws FileNotFoundException This method signature allows for compatibility, but no file operations occur here.
+     */
+    public OptimalScrollSolution optimalSafeOpeningAlgorithm(boolean recordPlan, ForkJoinPool pool) throws FileNotFoundException {
+        int T = safes.size();
+        int[] complexities = new int[T];
+        int[] scrolls = new int[T];
+        for (int i = 0; i < T; i++) {
+            complexities[i] = safes.getComplexity(i);
+            scrolls[i] = safes.getScrolls(i);
         }
 
-        // Start: time 0, knowledge 0 ⇒ 0 scrolls collected
-        dp[0][0] = 0;
+        int maxKnowledge = KNOWLEDGE_PER_STEP * T;
+        int stride = Math.max(1, (int) Math.sqrt(T));
+        int[][] checkpoints = recordPlan ? new int[T / stride + 1][] : null;
+
+        // Rows i and i + 1; -1 marks an unreachable knowledge level
+        int[] current = new int[maxKnowledge + 1];
+        int[] next = new int[maxKnowledge + 1];
+        Arrays.fill(current, -1);
+
+        // Start: time 0, knowledge 0 ⇒ 0 scrolls collected
+        current[0] = 0;
 
         for (int i = 0; i < T; i++) {
-            int complexity = safesDiscovered.get(i).get(0); // knowledge cost
-            int scrolls    = safesDiscovered.get(i).get(1); // reward
+            if (recordPlan && i % stride == 0) {
+                checkpoints[i / stride] = Arrays.copyOf(current, KNOWLEDGE_PER_STEP * i + 1);
+            }
+            step(pool, current, next, KNOWLEDGE_PER_STEP * i, complexities[i], scrolls[i], null, 0);
+            int[] t = current;
+            current = next;
+            next = t;
+        }
+
+        int maxScrolls = 0;
+        int bestKnowledge = 0;
+        for (int k = 0; k <= maxKnowledge; k++) {
+            if (current[k] > maxScrolls) {
+                maxScrolls = current[k];
+                bestKnowledge = k;
+            }
+        }
+
+        ArrayList<OptimalScrollSolution.Action> plan =
+                recordPlan ? reconstructPlan(pool, complexities, scrolls, checkpoints, stride, bestKnowledge) : null;
+        if (safesDiscovered == null) {
+            return new OptimalScrollSolution(safes, maxScrolls, plan);
+        }
+        return new OptimalScrollSolution(safesDiscovered, maxScrolls, plan);
+    }
+
+    /**
+     * Computes row i + 1 from row i, splitting the row across the pool when it is wide enough.
+     *
+     * @param pool       The pool used for wide rows, or null to stay on the calling thread.
+     * @param current    Row i, valid up to {@code reach}.
+     * @param next       Row i + 1, filled up to {@code reach + 5}.
+     * @param reach      Highest knowledge that can be reached after i steps.
+     * @param complexity Knowledge cost of safe i.
+     * @param reward     Scrolls in safe i.
+     * @param decisions  If not null, the winning action of every cell is stored here as 2 bits.
+     * @param offset     Index of this row's first cell in {@code decisions}; a multiple of 32.
+     */
+    static void step(ForkJoinPool pool, int[] current, int[] next, int reach, int complexity, int reward,
+                     long[] decisions, long offset) {
+        int width = reach + KNOWLEDGE_PER_STEP + 1;
+        if (pool == null || width < PARALLEL_THRESHOLD) {
+            sweep(current, next, reach, complexity, reward, decisions, offset, 0, width);
+        } else {
+            pool.invoke(new Sweep(current, next, reach, complexity, reward, decisions, offset, 0, width));
+        }
+    }
 
-            for (int k = 0; k <= maxKnowledge; k++) {
-                if (dp[i][k] < 0) continue; // unreachable state, skip
+    /**
+     * Fills {@code next[from, to)} by pulling from the three possible predecessors of every knowledge level.
+     * Cells only read row i and write their own slot, so disjoint ranges can run concurrently.
+     */
+    static void sweep(int[] current, int[] next, int reach, int complexity, int reward,
+                      long[] decisions, long offset, int from, int to) {
+        for (int k = from; k < to; k++) {
+            // Option 3 – skip (do nothing)
+            int best = k <= reach ? current[k] : -1;
+            int action = SKIP;
 
-                // Option 1 – produce knowledge (+5)
-                dp[i + 1][k + 5] = Math.max(dp[i + 1][k + 5], dp[i][k]);
+            // Option 1 – produce knowledge (+5)
+            if (k >= KNOWLEDGE_PER_STEP && current[k - KNOWLEDGE_PER_STEP] > best) {
+                best = current[k - KNOWLEDGE_PER_STEP];
+                action = PRODUCE;
+            }
 
-                // Option 2 – open safe if enough knowledge
-                if (k >= complexity) {
-                    dp[i + 1][k - complexity] =
-                            Math.max(dp[i + 1][k - complexity], dp[i][k] + scrolls);
+            // Option 2 – open safe if enough knowledge; compared as reach - k so that k + complexity cannot overflow
+            if (complexity <= reach - k) {
+                int before = k + complexity;
+                if (before >= 0 && current[before] >= 0 && current[before] + reward > best) {
+                    best = current[before] + reward;
+                    action = OPEN;
                 }
+            }
 
-                // Option 3 – skip (do nothing)
-                dp[i + 1][k] = Math.max(dp[i + 1][k], dp[i][k]);
+            next[k] = best;
+            if (decisions != null) {
+                long bit = 2 * (offset + k);
+                decisions[(int) (bit >>> 6)] |= (long) action << (bit & 63);
             }
         }
+    }
 
-        int maxScrolls = 0;
-        for (int k = 0; k <= maxKnowledge; k++) {
-            maxScrolls = Math.max(maxScrolls, dp[T][k]);
+    /**
+     * Walks back from the best final knowledge level one checkpoint segment at a time,
+     * recomputing the segment's rows with decision records to find each step's action.
+     */
+    private static ArrayList<OptimalScrollSolution.Action> reconstructPlan(ForkJoinPool pool, int[] complexities, int[] scrolls,
+                                                                          int[][] checkpoints, int stride, int knowledge) {
+        int T = complexities.length;
+        OptimalScrollSolution.Action[] actions = new OptimalScrollSolution.Action[T];
+        // rounded to whole decision words so concurrent chunks never share one
+        int width = (KNOWLEDGE_PER_STEP * T + 1 + 31) / 32 * 32;
+        int[] current = new int[width];
+        int[] next = new int[width];
+
+        for (int segment = (T - 1) / stride; segment >= 0; segment--) {
+            int first = segment * stride;
+            int last = Math.min(first + stride, T);
+            long[] decisions = new long[(int) ((2L * (last - first) * width + 63) / 64)];
+
+            System.arraycopy(checkpoints[segment], 0, current, 0, checkpoints[segment].length);
+            for (int i = first; i < last; i++) {
+                step(pool, current, next, KNOWLEDGE_PER_STEP * i, complexities[i], scrolls[i], decisions, (long) (i - first) * width);
+                int[] t = current;
+                current = next;
+                next = t;
+            }
+
+            for (int i = last - 1; i >= first; i--) {
+                long bit = 2 * ((long) (i - first) * width + knowledge);
+                int action = (int) (decisions[(int) (bit >>> 6)] >>> (bit & 63)) & 3;
+                if (action == PRODUCE) {
+                    actions[i] = OptimalScrollSolution.Action.PRODUCE;
+                    knowledge -= KNOWLEDGE_PER_STEP;
+                } else if (action == OPEN) {
+                    actions[i] = OptimalScrollSolution.Action.OPEN;
+                    knowledge += complexities[i];
+                } else {
+                    actions[i] = OptimalScrollSolution.Action.SKIP;
+                }
+            }
+        }
+
+        return new ArrayList<>(Arrays.asList(actions));
+    }
+
+    /**
+     * Fork-join task that fills a knowledge range of one row, halving it until it reaches {@link #MIN_CHUNK}.
+     */
+    private static final class Sweep extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] current;
+        private final int[] next;
+        private final int reach;
+        private final int complexity;
+        private final int reward;
+        private final long[] decisions;
+        private final long offset;
+        private final int from;
+        private final int to;
+
+        Sweep(int[] current, int[] next, int reach, int complexity, int reward,
+              long[] decisions, long offset, int from, int to) {
+            this.current = current;
+            this.next = next;
+            this.reach = reach;
+            this.complexity = complexity;
+            this.reward = reward;
+            this.decisions = decisions;
+            this.offset = offset;
+            this.from = from;
+            this.to = to;
         }
 
-        return new OptimalScrollSolution(safesDiscovered, maxScrolls);
+        @Override
+        protected void compute() {
+            if (to - from <= 2 * MIN_CHUNK) {
+                sweep(current, next, reach, complexity, reward, decisions, offset, from, to);
+                return;
+            }
+            int mid = from + (to - from) / 2 / MIN_CHUNK * MIN_CHUNK;
+            ForkJoinTask.invokeAll(
+                    new Sweep(current, next, reach, complexity, reward, decisions, offset, from, mid),
+                    new Sweep(current, next, reach, complexity, reward, decisions, offset, mid, to));
+        }
     }
 }
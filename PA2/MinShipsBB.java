@@ -0,0 +1,437 @@
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exact solver for the artifact transport problem: the fewest ships of capacity 100 that carry all artifacts.
+ *
+ * The Martello–Toth L1 and L2 lower bounds are computed first, and the first-fit decreasing
+ * answer of {@link MinShipsGP} is returned immediately when it meets them. Otherwise a
+ * branch-and-bound search places the artifacts, heaviest first, into ships; it runs on a
+ * fork-join pool and stops when the time budget is spent. The result then carries the best
+ * packing found together with the lower bound, so the remaining gap is known.
+ *
+ * Ships are only told apart by their free room, so the search keeps a histogram of free room
+ * instead of a list of ships and tries each distinct amount once. Two more rules cut the tree
+ * without losing optimal packings: an artifact that exactly fills a ship goes there, and
+ * otherwise identical artifacts are placed in order of non-increasing free room.
+ */
+public class MinShipsBB {
+
+    /**
+     * Time budget used when none is given.
+     */
+    static final long DEFAULT_BUDGET_MILLIS = 5_000;
+
+    /**
+     * List of artifact weights that need to be carried.
+     */
+    private final ArrayList<Integer> artifactsFound = new ArrayList<>();
+
+    /**
+     * Longest time the search may run, in milliseconds.
+     */
+    private final long budgetMillis;
+
+    /**
+     * Search nodes visited during the last solve.
+     */
+    private long nodesExplored;
+
+    /**
+     * Constructor with the default time budget.
+     *
+     * @param artifactsFound List of weights to be loaded into ships.
+     */
+    MinShipsBB(ArrayList<Integer> artifactsFound) {
+        this(artifactsFound, DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Constructor that sets the time budget of the search.
+     *
+     * @param artifactsFound List of weights to be loaded into ships.
+     * @param budgetMillis   Longest time the search may run, in milliseconds.
+     */
+    MinShipsBB(ArrayList<Integer> artifactsFound, long budgetMillis) {
+        this.artifactsFound.addAll(artifactsFound);
+        this.budgetMillis = budgetMillis;
+    }
+
+    /**
+     * Getter for the list of artifact weights.
+     *
+     * @return List of integers representing artifact weights.
+     */
+    public ArrayList<Integer> getArtifactsFound() {
+        return artifactsFound;
+    }
+
+    /**
+     * @return The number of search nodes visited during the last solve; 0 if the greedy answer was already optimal.
+     */
+    public long getNodesExplored() {
+        return nodesExplored;
+    }
+
+    /**
+     * Finds the minimum number of ships on the common fork-join pool.
+     *
+     * @return An OptimalShipSolution with the ships used and the proven lower bound.
+     * @throws FileNotFoundException This signature allows compatibility with other interfaces but is not used here.
+     */
+    public OptimalShipSolution optimalArtifactCarryingAlgorithm() throws FileNotFoundException {
+        return optimalArtifactCarryingAlgorithm(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Finds the minimum number of ships.
+     *
+     * Artifacts heavier than a ship always travel alone, and weightless ones fit anywhere,
+     * so only the others take part in the search.
+     *
+     * @param pool Pool that runs the search, or null to search on the calling thread.
+     * @return An OptimalShipSolution with the ships used and the proven lower bound; the two are
+     *         equal unless the time budget ran out.
+     * @throws IllegalArgumentException If an artifact has a negative weight.
+     */
+    public OptimalShipSolution optimalArtifactCarryingAlgorithm(ForkJoinPool pool) {
+        final int capacity = MinShipsGP.MAX_CAPACITY;
+        nodesExplored = 0;
+
+        int[] sorted = MinShipsGP.sortDecreasing(artifactsFound, capacity);
+        int greedy = MinShipsGP.firstFitDecreasing(sorted, capacity);
+
+        int oversized = 0;
+        int count = 0;
+        for (int w : sorted) {
+            if (w < 0) {
+                throw new IllegalArgumentException("Artifact weights must not be negative: " + w);
+            }
+            if (w > capacity) oversized++;
+            else if (w > 0) count++;
+        }
+        if (count == 0) {
+            // weightless artifacts still need a ship, and cannot share one that is already overloaded
+            return new OptimalShipSolution(artifactsFound, greedy, greedy);
+        }
+        int[] items = new int[count];
+        System.arraycopy(sorted, oversized, items, 0, count);
+
+        int lower = oversized + lowerBoundL2(items, capacity);
+        if (greedy == lower) {
+            return new OptimalShipSolution(artifactsFound, greedy, lower);
+        }
+
+        Search search = new Search(items, capacity, greedy - oversized, lower - oversized,
+                System.nanoTime() + budgetMillis * 1_000_000L);
+        Branch root = new Branch(search, new int[capacity + 1], 0, 0, capacity,
+                pool == null ? 1 : 8 * pool.getParallelism());
+        if (pool == null) {
+            root.invoke();
+        } else {
+            pool.invoke(root);
+        }
+        nodesExplored = search.nodes.sum();
+
+        int best = oversized + search.best.get();
+        return new OptimalShipSolution(artifactsFound, best, search.timedOut ? lower : best);
+    }
+
+    /**
+     * Martello–Toth L1 bound: the total weight divided by the capacity, rounded up.
+     *
+     * @param items    Artifact weights, each in [0, capacity].
+     * @param capacity Capacity of every ship.
+     * @return A lower bound on the number of ships.
+     */
+    static int lowerBoundL1(int[] items, int capacity) {
+        return (int) lowerBoundL1(histogram(items, capacity), capacity);
+    }
+
+    /**
+     * Martello–Toth L1 bound over a weight histogram.
+     *
+     * @param counts   Number of artifacts of each weight in [0, capacity].
+     * @param capacity Capacity of every ship.
+     * @return A lower bound on the number of ships.
+     */
+    static long lowerBoundL1(long[] counts, int capacity) {
+        long total = 0;
+        for (int w = 1; w <= capacity; w++) total += counts[w] * w;
+        return (total + capacity - 1) / capacity;
+    }
+
+    /**
+     * Martello–Toth L2 bound. For every threshold k up to half the capacity, artifacts heavier
+     * than half a ship each need their own ship, and artifacts of weight k..capacity/2 can only
+     * use the room those ships leave plus new ships. L2 is never below L1.
+     *
+     * @param items    Artifact weights, each in [0, capacity].
+     * @param capacity Capacity of every ship.
+     * @return A lower bound on the number of ships.
+     */
+    static int lowerBoundL2(int[] items, int capacity) {
+        return (int) lowerBoundL2(histogram(items, capacity), capacity);
+    }
+
+    /**
+     * Martello–Toth L2 bound over a weight histogram, in O(capacity²) time.
+     *
+     * @param counts   Number of artifacts of each weight in [0, capacity].
+     * @param capacity Capacity of every ship.
+     * @return A lower bound on the number of ships.
+     */
+    static long lowerBoundL2(long[] counts, int capacity) {
+        long best = lowerBoundL1(counts, capacity);
+        for (int k = 0; k <= capacity / 2; k++) {
+            long large = 0;      // weight > capacity - k: no item of weight >= k fits beside them
+            long medium = 0;     // capacity / 2 < weight <= capacity - k
+            long mediumWeight = 0;
+            long smallWeight = 0; // k <= weight <= capacity / 2
+            for (int w = k; w <= capacity; w++) {
+                if (w > capacity - k) {
+                    large += counts[w];
+                } else if (2 * w > capacity) {
+                    medium += counts[w];
+                    mediumWeight += counts[w] * w;
+                } else {
+                    smallWeight += counts[w] * w;
+                }
+            }
+            long overflow = smallWeight - (medium * capacity - mediumWeight);
+            long bound = large + medium + Math.max(0, (overflow + capacity - 1) / capacity);
+            best = Math.max(best, bound);
+        }
+        return best;
+    }
+
+    private static long[] histogram(int[] items, int capacity) {
+        long[] counts = new long[capacity + 1];
+        for (int w : items) counts[w]++;
+        return counts;
+    }
+
+    /**
+     * State shared by all branches of one search.
+     */
+    private static final class Search {
+        /** Artifacts to place, heaviest first, each in [1, capacity]. */
+        final int[] items;
+        final int capacity;
+        /** Total weight of the items. */
+        final long total;
+        /** Ships used by the best packing found so far. */
+        final AtomicInteger best;
+        /** Lower bound; reaching it ends the search. */
+        final int lower;
+        final long deadline;
+        final LongAdder nodes = new LongAdder();
+        volatile boolean stopped;
+        volatile boolean timedOut;
+
+        Search(int[] items, int capacity, int upper, int lower, long deadline) {
+            this.items = items;
+            this.capacity = capacity;
+            long sum = 0;
+            for (int w : items) sum += w;
+            this.total = sum;
+            this.best = new AtomicInteger(upper);
+            this.lower = lower;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Records a complete packing.
+         */
+        void offer(int ships) {
+            if (best.accumulateAndGet(ships, Math::min) <= lower) stopped = true;
+        }
+
+        /**
+         * Stops the search once the time budget is spent.
+         */
+        boolean outOfTime() {
+            if (System.nanoTime() - deadline > 0) {
+                timedOut = true;
+                stopped = true;
+            }
+            return stopped;
+        }
+
+        /**
+         * Fewest ships any completion of a partial packing can use: room in ships too small
+         * for the lightest artifact is lost, and the rest must hold all the weight.
+         */
+        int bound(int[] room, int ships) {
+            long wasted = 0;
+            int smallest = items[items.length - 1];
+            for (int r = 1; r < smallest; r++) wasted += (long) r * room[r];
+            return (int) Math.max(ships, (total + wasted + capacity - 1) / capacity);
+        }
+
+        /**
+         * Next free-room amount to try for the item at {@code depth}, above {@code tried} and at most {@code upper}.
+         * A free room equal to the capacity stands for opening a new ship.
+         *
+         * @return The free room to place the item into, or -1 if none is left.
+         */
+        int next(int[] room, int ships, int depth, int tried, int upper) {
+            int w = items[depth];
+            if (w < capacity && room[w] > 0) {
+                return tried < w ? w : -1; // an exact fit is never worse than any other choice
+            }
+            for (int r = Math.max(tried + 1, w); r <= upper; r++) {
+                if (r == capacity ? ships + 1 < best.get() : room[r] > 0) return r;
+            }
+            return -1;
+        }
+
+        /**
+         * Largest free room the item after {@code depth} may go into, once the item at {@code depth}
+         * went into free room r under the limit {@code upper}. Identical artifacts take their ships in
+         * order of non-increasing free room; exact fits are forced and do not count towards that order.
+         */
+        int limitAfter(int depth, int r, int upper) {
+            int w = items[depth];
+            if (depth + 1 == items.length || items[depth + 1] != w) return capacity;
+            return r == w && w < capacity ? upper : r;
+        }
+
+        /**
+         * Depth-first search below {@code start}, with an explicit stack so that millions of
+         * artifacts do not exhaust the thread stack.
+         */
+        void run(int[] room, int ships, int start, int upper) {
+            int n = items.length;
+            int[] choice = new int[n - start + 1];
+            int[] limit = new int[n - start + 1];
+            int d = start;
+            choice[0] = -1;
+            limit[0] = upper;
+            long visited = 0;
+
+            while (true) {
+                if (d == n) {
+                    offer(ships);
+                    if (stopped || --d < start) break;
+                    ships -= undo(room, choice[d - start], items[d]);
+                    continue;
+                }
+
+                int r = next(room, ships, d, choice[d - start], limit[d - start]);
+                if (r < 0) {
+                    if (--d < start) break;
+                    ships -= undo(room, choice[d - start], items[d]);
+                    continue;
+                }
+
+                choice[d - start] = r;
+                ships += apply(room, r, items[d]);
+                if ((++visited & 1023) == 0 && outOfTime() || stopped) break;
+                if (bound(room, ships) >= best.get()) {
+                    ships -= undo(room, r, items[d]);
+                    continue;
+                }
+                limit[d + 1 - start] = limitAfter(d, r, limit[d - start]);
+                d++;
+                choice[d - start] = -1;
+            }
+            nodes.add(visited);
+        }
+
+        /**
+         * Places an item of weight w into a ship with free room r.
+         *
+         * @return 1 if a new ship was opened, 0 otherwise.
+         */
+        int apply(int[] room, int r, int w) {
+            room[r - w]++;
+            if (r == capacity) return 1;
+            room[r]--;
+            return 0;
+        }
+
+        /**
+         * Takes an item of weight w back out of the ship it was placed into with free room r.
+         *
+         * @return 1 if that ship was opened for the item, 0 otherwise.
+         */
+        int undo(int[] room, int r, int w) {
+            room[r - w]--;
+            if (r == capacity) return 1;
+            room[r]++;
+            return 0;
+        }
+    }
+
+    /**
+     * A subtree of the search. Branches keep splitting into forked children while they have
+     * spare width, so idle workers can steal them, and search the rest sequentially.
+     */
+    private static final class Branch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final int[] room;
+        private int ships;
+        private int depth;
+        private int upper;
+        private final int width;
+
+        Branch(Search search, int[] room, int ships, int depth, int upper, int width) {
+            this.search = search;
+            this.room = room;
+            this.ships = ships;
+            this.depth = depth;
+            this.upper = upper;
+            this.width = width;
+        }
+
+        @Override
+        protected void compute() {
+            int n = search.items.length;
+            while (width > 1 && depth < n && !search.stopped) {
+                ArrayList<Integer> choices = new ArrayList<>();
+                for (int r = search.next(room, ships, depth, -1, upper); r >= 0;
+                     r = search.next(room, ships, depth, r, upper)) {
+                    choices.add(r);
+                }
+                if (choices.isEmpty()) return;
+
+                if (choices.size() == 1) {
+                    // nothing to split: follow the only choice in place
+                    int r = choices.get(0);
+                    ships += search.apply(room, r, search.items[depth]);
+                    upper = search.limitAfter(depth, r, upper);
+                    depth++;
+                    if (search.bound(room, ships) >= search.best.get()) return;
+                    continue;
+                }
+
+                ArrayList<Branch> children = new ArrayList<>();
+                for (int r : choices) {
+                    int[] childRoom = room.clone();
+                    int childShips = ships + search.apply(childRoom, r, search.items[depth]);
+                    if (search.bound(childRoom, childShips) < search.best.get()) {
+                        children.add(new Branch(search, childRoom, childShips, depth + 1,
+                                search.limitAfter(depth, r, upper),
+                                Math.max(1, width / choices.size())));
+                    }
+                }
+                ForkJoinTask.invokeAll(children);
+                return;
+            }
+
+            if (depth == n) {
+                search.offer(ships);
+            } else if (!search.stopped) {
+                search.run(room, ships, depth, upper);
+            }
+        }
+    }
+}
@@ -1,7 +1,7 @@
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Scanner;
 
 /**
@@ -26,48 +26,150 @@ public class MinShipsGP {
     }
 
     /**
-     * Constructor that initializes the list of artifact weights.
+     * Capacity of every ship.
+     */
+    static final int MAX_CAPACITY = 100;
+
+    /**
+     * Heuristic that packs the artifacts.
+     */
+    private final PackingStrategy strategy;
+
+    /**
+     * Constructor that initializes the list of artifact weights, packed first-fit decreasing.
      *
      * @param artifactsFound List of weights to be loaded into ships.
      */
     MinShipsGP(ArrayList<Integer> artifactsFound) {
+        this(artifactsFound, PackingStrategies.byName("ffd", MAX_CAPACITY));
+    }
+
+    /**
+     * Constructor that also chooses the packing heuristic and, through it, the ship capacity.
+     *
+     * @param artifactsFound List of weights to be loaded into ships.
+     * @param strategy       Heuristic that packs the artifacts.
+     */
+    MinShipsGP(ArrayList<Integer> artifactsFound, PackingStrategy strategy) {
         this.artifactsFound.addAll(artifactsFound);
+        this.strategy = strategy;
     }
 
     /**
      * Greedy algorithm to minimize the number of ships needed to carry the artifacts.
      * Each ship has a fixed capacity (100 units), and artifacts are placed in
      * decreasing order of size to improve packing efficiency.
+     * Another heuristic or capacity can be chosen through a {@link PackingStrategy}.
      *
-     * The method works as follows:
-     * - Sort artifacts in decreasing order.
-     * - Try to fit each artifact into an existing ship.
+     * By default the method works as follows:
+     * - Sort artifacts in decreasing order (a counting sort, since weights are at most 100).
+     * - Put each artifact into the first ship it fits in, found through a tournament tree.
      * - If it doesn't fit in any, open a new ship.
      *
      * @return An OptimalShipSolution object that includes the input artifacts and the number of ships used.
      * @throws FileNotFoundException This signature allows compatibility with other interfaces but is not used here.
      */
     public OptimalShipSolution optimalArtifactCarryingAlgorithm() throws FileNotFoundException {
-        final int MAX_CAPACITY = 100;
-        ArrayList<Integer> artifacts = new ArrayList<>(artifactsFound);
-        Collections.sort(artifacts, Collections.reverseOrder());
+        int[] artifacts = new int[artifactsFound.size()];
+        for (int i = 0; i < artifacts.length; i++) artifacts[i] = artifactsFound.get(i);
+        return new OptimalShipSolution(artifactsFound, strategy.countShips(artifacts));
+    }
 
-        ArrayList<Integer> ships = new ArrayList<>();
+    /**
+     * Copies the weights into an array sorted in decreasing order.
+     *
+     * @param weights  Artifact weights.
+     * @param capacity Largest weight the counting sort expects.
+     * @return The weights, heaviest first.
+     */
+    static int[] sortDecreasing(ArrayList<Integer> weights, int capacity) {
+        int[] sorted = new int[weights.size()];
+        for (int i = 0; i < sorted.length; i++) sorted[i] = weights.get(i);
+        sortDecreasingInPlace(sorted, capacity);
+        return sorted;
+    }
+
+    /**
+     * Copies the weights into an array sorted in decreasing order.
+     *
+     * @param weights  Artifact weights; not modified.
+     * @param capacity Largest weight the counting sort expects.
+     * @return The weights, heaviest first.
+     */
+    static int[] sortDecreasing(int[] weights, int capacity) {
+        int[] sorted = weights.clone();
+        sortDecreasingInPlace(sorted, capacity);
+        return sorted;
+    }
+
+    /**
+     * Sorts weights in decreasing order. When every weight lies in {@code [0, capacity]}
+     * a counting sort is used; anything else falls back to a comparison sort.
+     */
+    private static void sortDecreasingInPlace(int[] sorted, int capacity) {
+        int n = sorted.length;
+        int[] counts = new int[capacity + 1];
+        for (int w : sorted) {
+            if (w < 0 || w > capacity) {
+                Arrays.sort(sorted);
+                for (int i = 0, j = n - 1; i < j; i++, j--) {
+                    int t = sorted[i];
+                    sorted[i] = sorted[j];
+                    sorted[j] = t;
+                }
+                return;
+            }
+            counts[w]++;
+        }
+
+        int k = 0;
+        for (int w = capacity; w >= 0; w--) {
+            for (int c = counts[w]; c > 0; c--) sorted[k++] = w;
+        }
+    }
+
+    /**
+     * Places artifacts, in the given order, into the first ship with enough room left.
+     *
+     * The free room of every ship sits in the leaves of a max tournament tree, so the leftmost
+     * ship that fits is found in O(log n) by walking down from the root. Ships that are not open
+     * yet have the full capacity free, which makes "open a new ship" the same as taking the first
+     * unused leaf. An artifact heavier than the capacity fits nowhere and gets a ship of its own,
+     * as in the linear scan.
+     *
+     * @param artifacts Artifact weights, normally in decreasing order.
+     * @param capacity  Capacity of every ship.
+     * @return The number of ships used.
+     */
+    static int firstFitDecreasing(int[] artifacts, int capacity) {
+        int n = artifacts.length;
+        int leaves = 1;
+        while (leaves < n) leaves <<= 1;
+
+        // tree[1] is the root; the free room of ship i is tree[leaves + i]
+        int[] tree = new int[2 * leaves];
+        Arrays.fill(tree, capacity);
+        int ships = 0;
 
         for (int artifact : artifacts) {
-            boolean placed = false;
-            for (int i = 0; i < ships.size(); i++) {
-                if (ships.get(i) + artifact <= MAX_CAPACITY) {
-                    ships.set(i, ships.get(i) + artifact);
-                    placed = true;
-                    break;
+            int node;
+            if (tree[1] >= artifact) {
+                node = 1;
+                while (node < leaves) {
+                    node <<= 1;
+                    if (tree[node] < artifact) node++;
                 }
+            } else {
+                node = leaves + ships; // too heavy for any ship, including an empty one
             }
-            if (!placed) {
-                ships.add(artifact);
+
+            int ship = node - leaves;
+            if (ship >= ships) ships = ship + 1;
+            tree[node] -= artifact;
+            for (node >>= 1; node > 0; node >>= 1) {
+                tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
             }
         }
-
-        return new OptimalShipSolution(artifactsFound, ships.size());
+        return ships;
     }
 }
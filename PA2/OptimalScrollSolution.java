@@ -6,17 +6,39 @@ import java.util.ArrayList;
  */
 public class OptimalScrollSolution {
 
+    /**
+     * The action taken at one time step of the plan.
+     */
+    public enum Action {
+        /** Produce 5 points of knowledge. */
+        PRODUCE,
+        /** Open the safe of this step, spending its complexity in knowledge. */
+        OPEN,
+        /** Do nothing. */
+        SKIP
+    }
+
     /**
      * The list of safes considered in the solution.
      * Each safe is represented as a list: [0] = complexity, [1] = scrolls.
      */
     private final ArrayList<ArrayList<Integer>> safeSet;
 
+    /**
+     * The safes as primitive columns when the solution was built from a {@link SafeSet}; null otherwise.
+     */
+    private final SafeSet safes;
+
     /**
      * The optimal number of scrolls collected.
      */
     private final int solution;
 
+    /**
+     * One action per safe that achieves the solution, or null if it was not recorded.
+     */
+    private final ArrayList<Action> plan;
+
     /**
      * Constructs a solution object for the scroll collection problem.
      *
@@ -24,8 +46,35 @@ public class OptimalScrollSolution {
      * @param solution The maximum number of scrolls collected.
      */
     OptimalScrollSolution(ArrayList<ArrayList<Integer>> safeSet, int solution) {
+        this(safeSet, solution, null);
+    }
+
+    /**
+     * Constructs a solution object that also carries the action plan.
+     *
+     * @param safeSet  The list of safes with their [complexity, scrolls] information.
+     * @param solution The maximum number of scrolls collected.
+     * @param plan     The action taken at each step, in order.
+     */
+    OptimalScrollSolution(ArrayList<ArrayList<Integer>> safeSet, int solution, ArrayList<Action> plan) {
         this.safeSet = safeSet;
+        this.safes = null;
+        this.solution = solution;
+        this.plan = plan;
+    }
+
+    /**
+     * Constructs a solution object over primitive safe columns.
+     *
+     * @param safes    The safes considered in the solution.
+     * @param solution The maximum number of scrolls collected.
+     * @param plan     The action taken at each step, or null if it was not recorded.
+     */
+    OptimalScrollSolution(SafeSet safes, int solution, ArrayList<Action> plan) {
+        this.safeSet = null;
+        this.safes = safes;
         this.solution = solution;
+        this.plan = plan;
     }
 
     /**
@@ -43,7 +92,25 @@ public class OptimalScrollSolution {
      * @return A list of safes, where each safe is represented by [complexity, scrolls].
      */
     public ArrayList<ArrayList<Integer>> getSafeSet() {
-        return safeSet;
+        return safeSet != null ? safeSet : safes.toList();
+    }
+
+    /**
+     * Gets the safes used in the solution as primitive columns.
+     *
+     * @return The safes, converted from the list form if necessary.
+     */
+    public SafeSet getSafes() {
+        return safes != null ? safes : SafeSet.fromList(safeSet);
+    }
+
+    /**
+     * Gets the sequence of actions that collects the maximum number of scrolls.
+     *
+     * @return One action per safe, or null if the plan was not recorded.
+     */
+    public ArrayList<Action> getPlan() {
+        return plan;
     }
 
     /**
@@ -52,7 +119,19 @@ public class OptimalScrollSolution {
      * @param solution The solution object containing the safes and scroll count.
      */
     public void printSolution(OptimalScrollSolution solution) {
-        System.out.println("Maximum scrolls acquired: " + solution.getSolution());
-        System.out.println("For the safe set of :" + solution.getSafeSet());
+        System.out.print(formatSolution(solution));
+    }
+
+    /**
+     * Formats the solution details exactly as {@link #printSolution(OptimalScrollSolution)} prints them.
+     *
+     * @param solution The solution object containing the safes and scroll count.
+     * @return The printed lines, each followed by a line separator.
+     */
+    public String formatSolution(OptimalScrollSolution solution) {
+        String nl = System.lineSeparator();
+        // SafeSet prints in the same format as the list, without building it
+        return "Maximum scrolls acquired: " + solution.getSolution() + nl
+                + "For the safe set of :" + (solution.safeSet != null ? solution.safeSet : solution.safes) + nl;
     }
 }
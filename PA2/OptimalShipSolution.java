@@ -11,11 +11,21 @@ public class OptimalShipSolution {
      */
     private final ArrayList<Integer> artifactSet;
 
+    /**
+     * The artifacts as a weight histogram when the solution was built from one; null otherwise.
+     */
+    private final ArtifactHistogram histogram;
+
     /**
      * The minimum number of ships needed to carry all artifacts.
      */
     private final int solution;
 
+    /**
+     * A proven lower bound on the number of ships, or -1 if none was computed.
+     */
+    private final int lowerBound;
+
     /**
      * Constructs a solution object for the artifact shipping problem.
      *
@@ -23,8 +33,35 @@ public class OptimalShipSolution {
      * @param solution    The minimum number of ships used.
      */
     OptimalShipSolution(ArrayList<Integer> artifactSet, int solution) {
+        this(artifactSet, solution, -1);
+    }
+
+    /**
+     * Constructs a solution object that also records how far it may be from the optimum.
+     *
+     * @param artifactSet The list of artifact weights.
+     * @param solution    The number of ships used.
+     * @param lowerBound  A proven lower bound on the number of ships; equal to solution when it is optimal.
+     */
+    OptimalShipSolution(ArrayList<Integer> artifactSet, int solution, int lowerBound) {
         this.artifactSet = artifactSet;
+        this.histogram = null;
         this.solution = solution;
+        this.lowerBound = lowerBound;
+    }
+
+    /**
+     * Constructs a solution object over a weight histogram.
+     *
+     * @param histogram  The number of artifacts of each weight.
+     * @param solution   The number of ships used.
+     * @param lowerBound A proven lower bound on the number of ships, or -1 if none was computed.
+     */
+    OptimalShipSolution(ArtifactHistogram histogram, int solution, int lowerBound) {
+        this.artifactSet = null;
+        this.histogram = histogram;
+        this.solution = solution;
+        this.lowerBound = lowerBound;
     }
 
     /**
@@ -36,13 +73,74 @@ public class OptimalShipSolution {
         return solution;
     }
 
+    /**
+     * Gets the lower bound on the number of ships.
+     *
+     * @return A proven lower bound, or -1 if none was computed.
+     */
+    public int getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Tells whether the solution is known to use the fewest ships possible.
+     *
+     * @return True if the number of ships matches the lower bound.
+     */
+    public boolean isOptimal() {
+        return lowerBound >= 0 && solution == lowerBound;
+    }
+
+    /**
+     * Gets the optimality gap: how many ships the solution may use beyond the optimum.
+     *
+     * @return The difference to the lower bound, or -1 if none was computed.
+     */
+    public int getGap() {
+        return lowerBound < 0 ? -1 : solution - lowerBound;
+    }
+
     /**
      * Gets the list of artifact weights used in the solution.
      *
      * @return A list of artifact weights.
      */
     public ArrayList<Integer> getArtifactSet() {
-        return artifactSet;
+        return artifactSet != null ? artifactSet : histogram.toList();
+    }
+
+    /**
+     * Gets the artifacts as a weight histogram.
+     *
+     * @return The histogram, built from the list if necessary.
+     */
+    public ArtifactHistogram getHistogram() {
+        return histogram != null ? histogram : ArtifactHistogram.fromList(artifactSet, MinShipsGP.MAX_CAPACITY);
+    }
+
+    /**
+     * Formats the solution details exactly as {@link #printSolution(OptimalShipSolution)} prints them.
+     *
+     * @param solution The solution object containing the artifact set and number of ships.
+     * @return The printed lines, each followed by a line separator.
+     */
+    public String formatSolution(OptimalShipSolution solution) {
+        String nl = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
+        if (solution.getLowerBound() < 0 || solution.isOptimal()) {
+            sb.append("Minimum spaceships required: ").append(solution.getSolution()).append(nl);
+        } else {
+            sb.append("Spaceships required: ").append(solution.getSolution())
+                    .append(" (lower bound ").append(solution.getLowerBound())
+                    .append(", gap ").append(solution.getGap()).append(")").append(nl);
+        }
+        if (solution.histogram != null) {
+            // listing every artifact of a histogram batch could take gigabytes
+            sb.append("For the artifact histogram of :").append(solution.histogram).append(nl);
+        } else {
+            sb.append("For the artifact set of :").append(solution.artifactSet).append(nl);
+        }
+        return sb.toString();
     }
 
     /**
@@ -51,7 +149,6 @@ public class OptimalShipSolution {
      * @param solution The solution object containing the artifact set and number of ships.
      */
     public void printSolution(OptimalShipSolution solution) {
-        System.out.println("Minimum spaceships required: " + solution.getSolution());
-        System.out.println("For the artifact set of :" + solution.getArtifactSet());
+        System.out.print(formatSolution(solution));
     }
 }
@@ -0,0 +1,103 @@
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Compares the {@link PackingStrategies} on synthetic weight distributions: throughput in
+ * artifacts per second, and quality as ships used relative to the Martello–Toth L2 lower bound.
+ * For every distribution it also names the fastest heuristic whose ships stay within the
+ * tolerance of the bound, or the tightest one if none does.
+ *
+ * Usage: java PackingBenchmark [artifacts] [capacity] [tolerance]
+ */
+public class PackingBenchmark {
+
+    /**
+     * Minimum measured time per heuristic and distribution, in nanoseconds.
+     */
+    private static final long MEASURE_NANOS = 300_000_000L;
+
+    /**
+     * Entry point of the benchmark.
+     *
+     * @param args Optional artifact count (default 1,000,000), ship capacity (default 100)
+     *             and tolerance over the lower bound (default 0.02).
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : MinShipsGP.MAX_CAPACITY;
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.02;
+        String[] distributions = {"Uniform", "Small", "Large", "Triplets", "Bimodal"};
+        ArrayList<PackingStrategy> strategies = PackingStrategies.all(capacity);
+
+        System.out.println("Distribution\tStrategy\tOnline\tArtifacts/s\tShips\tL2\tShips/L2");
+        for (String distribution : distributions) {
+            int[] artifacts = weights(distribution, n, capacity, new Random(n));
+            long lower = MinShipsBB.lowerBoundL2(artifacts, capacity);
+
+            PackingStrategy pick = null;
+            double pickRate = 0;
+            PackingStrategy tightest = null;
+            int tightestShips = Integer.MAX_VALUE;
+            for (PackingStrategy strategy : strategies) {
+                int ships = strategy.countShips(artifacts); // warm-up
+                long runs = 0;
+                long start = System.nanoTime();
+                long elapsed;
+                do {
+                    ships = strategy.countShips(artifacts);
+                    runs++;
+                    elapsed = System.nanoTime() - start;
+                } while (elapsed < MEASURE_NANOS);
+
+                double rate = runs * (double) n / (elapsed / 1e9);
+                double ratio = lower == 0 ? 1.0 : ships / (double) lower;
+                System.out.printf("%s\t%s\t%s\t%.3g\t%d\t%d\t%.4f%n", distribution, strategy.getName(),
+                        strategy.isOnline() ? "yes" : "no", rate, ships, lower, ratio);
+
+                if (ratio <= 1 + tolerance && rate > pickRate) {
+                    pick = strategy;
+                    pickRate = rate;
+                }
+                if (ships < tightestShips) {
+                    tightest = strategy;
+                    tightestShips = ships;
+                }
+            }
+            System.out.println(pick != null
+                    ? "# " + distribution + ": fastest within " + (tolerance * 100) + "% of L2 is " + pick.getName()
+                    : "# " + distribution + ": none within " + (tolerance * 100) + "% of L2, tightest is " + tightest.getName());
+        }
+    }
+
+    /**
+     * Draws artifact weights from one of the benchmark distributions.
+     *
+     * @param distribution "Uniform" (1..capacity), "Small" (up to a quarter ship), "Large" (a third of a
+     *                     ship or more), "Triplets" (a quarter to a half ship) or "Bimodal" (a mix of
+     *                     just over half a ship and small fillers).
+     * @param n            Number of artifacts.
+     * @param capacity     Capacity of every ship.
+     * @param random       Source of randomness.
+     * @return The weights in arrival order.
+     */
+    static int[] weights(String distribution, int n, int capacity, Random random) {
+        int[] weights = new int[n];
+        for (int i = 0; i < n; i++) {
+            int w;
+            switch (distribution) {
+                case "Uniform": w = 1 + random.nextInt(capacity); break;
+                case "Small": w = 1 + random.nextInt(Math.max(1, capacity / 4)); break;
+                case "Large": w = capacity / 3 + random.nextInt(capacity - capacity / 3 + 1); break;
+                case "Triplets": w = capacity / 4 + random.nextInt(capacity / 4 + 1); break;
+                case "Bimodal":
+                    w = random.nextBoolean()
+                            ? capacity / 2 + 1 + random.nextInt(Math.max(1, capacity / 5))
+                            : 1 + random.nextInt(Math.max(1, capacity / 3));
+                    break;
+                default: throw new IllegalArgumentException("Unknown distribution: " + distribution);
+            }
+            weights[i] = Math.max(1, Math.min(capacity, w));
+        }
+        return weights;
+    }
+}
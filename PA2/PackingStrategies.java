@@ -0,0 +1,257 @@
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The bin-packing heuristics available for artifact transport, each with a configurable capacity.
+ *
+ * Offline heuristics sort the batch heaviest first; online ones place artifacts in arrival order:
+ * - "ffd": first-fit decreasing, the default of {@link MinShipsGP}.
+ * - "bfd": best-fit decreasing, using a sorted index of free room.
+ * - "wfd": worst-fit decreasing, always the emptiest ship.
+ * - "nf": next-fit, online, only the last ship stays open.
+ * - "harmonic": Harmonic-k, online, ships dedicated to one size class each.
+ */
+public final class PackingStrategies {
+
+    /**
+     * Number of size classes of the harmonic heuristic.
+     */
+    static final int HARMONIC_CLASSES = 10;
+
+    private PackingStrategies() {
+    }
+
+    /**
+     * Gets a heuristic by name.
+     *
+     * @param name     One of "ffd", "bfd", "wfd", "nf" or "harmonic".
+     * @param capacity Capacity of every ship.
+     * @return The heuristic.
+     * @throws IllegalArgumentException If the name is unknown.
+     */
+    public static PackingStrategy byName(String name, int capacity) {
+        switch (name) {
+            case "ffd": return new FirstFitDecreasing(capacity);
+            case "bfd": return new BestFitDecreasing(capacity);
+            case "wfd": return new WorstFitDecreasing(capacity);
+            case "nf": return new NextFit(capacity);
+            case "harmonic": return new Harmonic(capacity, HARMONIC_CLASSES);
+            default: throw new IllegalArgumentException("Unknown packing strategy: " + name);
+        }
+    }
+
+    /**
+     * @param capacity Capacity of every ship.
+     * @return One instance of every heuristic.
+     */
+    public static ArrayList<PackingStrategy> all(int capacity) {
+        ArrayList<PackingStrategy> strategies = new ArrayList<>();
+        for (String name : new String[]{"ffd", "bfd", "wfd", "nf", "harmonic"}) {
+            strategies.add(byName(name, capacity));
+        }
+        return strategies;
+    }
+
+    /**
+     * Common fields of the heuristics.
+     */
+    private abstract static class Base implements PackingStrategy {
+        final String name;
+        final int capacity;
+
+        Base(String name, int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+            }
+            this.name = name;
+            this.capacity = capacity;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getCapacity() {
+            return capacity;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * First-fit decreasing on the tournament tree of {@link MinShipsGP}: the leftmost ship that fits.
+     */
+    static final class FirstFitDecreasing extends Base {
+        FirstFitDecreasing(int capacity) {
+            super("ffd", capacity);
+        }
+
+        @Override
+        public boolean isOnline() {
+            return false;
+        }
+
+        @Override
+        public int countShips(int[] artifacts) {
+            return MinShipsGP.firstFitDecreasing(MinShipsGP.sortDecreasing(artifacts, capacity), capacity);
+        }
+    }
+
+    /**
+     * Best-fit decreasing: the ship with the least free room that still fits. Open ships are
+     * indexed by free room in a sorted map of counts, so the choice is one ceiling lookup.
+     */
+    static final class BestFitDecreasing extends Base {
+        BestFitDecreasing(int capacity) {
+            super("bfd", capacity);
+        }
+
+        @Override
+        public boolean isOnline() {
+            return false;
+        }
+
+        @Override
+        public int countShips(int[] artifacts) {
+            TreeMap<Integer, Integer> room = new TreeMap<>(); // free room -> ships with that room
+            int ships = 0;
+            for (int w : MinShipsGP.sortDecreasing(artifacts, capacity)) {
+                Integer fit = room.ceilingKey(w);
+                if (fit != null) {
+                    take(room, fit);
+                    room.merge(fit - w, 1, Integer::sum);
+                } else {
+                    ships++;
+                    if (w <= capacity) room.merge(capacity - w, 1, Integer::sum);
+                }
+            }
+            return ships;
+        }
+    }
+
+    /**
+     * Worst-fit decreasing: the ship with the most free room, which spreads the load evenly.
+     */
+    static final class WorstFitDecreasing extends Base {
+        WorstFitDecreasing(int capacity) {
+            super("wfd", capacity);
+        }
+
+        @Override
+        public boolean isOnline() {
+            return false;
+        }
+
+        @Override
+        public int countShips(int[] artifacts) {
+            TreeMap<Integer, Integer> room = new TreeMap<>();
+            int ships = 0;
+            for (int w : MinShipsGP.sortDecreasing(artifacts, capacity)) {
+                Map.Entry<Integer, Integer> emptiest = room.lastEntry();
+                if (emptiest != null && emptiest.getKey() >= w) {
+                    int r = emptiest.getKey();
+                    take(room, r);
+                    room.merge(r - w, 1, Integer::sum);
+                } else {
+                    ships++;
+                    if (w <= capacity) room.merge(capacity - w, 1, Integer::sum);
+                }
+            }
+            return ships;
+        }
+    }
+
+    /**
+     * Next-fit: artifacts go into the current ship until one does not fit, which closes it for good.
+     */
+    static final class NextFit extends Base {
+        NextFit(int capacity) {
+            super("nf", capacity);
+        }
+
+        @Override
+        public boolean isOnline() {
+            return true;
+        }
+
+        @Override
+        public int countShips(int[] artifacts) {
+            int ships = 0;
+            long load = capacity + 1L; // no ship open yet
+            for (int w : artifacts) {
+                if (w > capacity) {
+                    ships++;
+                } else if (load + w <= capacity) {
+                    load += w;
+                } else {
+                    ships++;
+                    load = w;
+                }
+            }
+            return ships;
+        }
+    }
+
+    /**
+     * Harmonic-k: an artifact of weight in (capacity / (j + 1), capacity / j] belongs to class j,
+     * and a class-j ship takes exactly j such artifacts. Artifacts of at most capacity / k share
+     * class k, packed next-fit. Each class keeps a single open ship, so the memory is O(k).
+     */
+    static final class Harmonic extends Base {
+        private final int classes;
+
+        Harmonic(int capacity, int classes) {
+            super("harmonic", capacity);
+            this.classes = classes;
+        }
+
+        @Override
+        public boolean isOnline() {
+            return true;
+        }
+
+        @Override
+        public int countShips(int[] artifacts) {
+            int[] inOpenShip = new int[classes]; // artifacts in the open ship of classes 1..k-1
+            long smallLoad = capacity + 1L;       // load of the open class-k ship, none yet
+            int ships = 0;
+
+            for (int w : artifacts) {
+                if (w > capacity) {
+                    ships++;
+                    continue;
+                }
+                // weightless and negative artifacts take no room, so they go with the smallest class
+                int j = w <= 0 ? classes : Math.min(classes, capacity / w);
+                if (j < classes) {
+                    if (inOpenShip[j] == 0) ships++;
+                    inOpenShip[j] = (inOpenShip[j] + 1) % j;
+                } else if (smallLoad + w <= capacity) {
+                    smallLoad += w;
+                } else {
+                    ships++;
+                    smallLoad = w;
+                }
+            }
+            return ships;
+        }
+    }
+
+    /**
+     * Removes one ship from the count kept for a free-room amount.
+     */
+    private static void take(TreeMap<Integer, Integer> room, int r) {
+        int left = room.get(r) - 1;
+        if (left == 0) {
+            room.remove(r);
+        } else {
+            room.put(r, left);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * A bin-packing heuristic that counts the ships needed to carry a batch of artifacts.
+ *
+ * Artifacts heavier than a ship's capacity cannot share a ship and get one of their own.
+ * Implementations are in {@link PackingStrategies}.
+ */
+public interface PackingStrategy {
+
+    /**
+     * @return Short name of the heuristic, as accepted by {@link PackingStrategies#byName(String, int)}.
+     */
+    String getName();
+
+    /**
+     * @return Capacity of every ship.
+     */
+    int getCapacity();
+
+    /**
+     * Tells whether the heuristic places every artifact as it arrives, without looking at the
+     * rest of the batch, so it can be used on a stream of artifacts.
+     *
+     * @return True for online heuristics, false for those that sort the batch first.
+     */
+    boolean isOnline();
+
+    /**
+     * Packs a batch of artifacts.
+     *
+     * @param artifacts Artifact weights in arrival order; the array is not modified.
+     * @return The number of ships used.
+     */
+    int countShips(int[] artifacts);
+}
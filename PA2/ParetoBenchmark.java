@@ -0,0 +1,78 @@
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+/**
+ * Compares the sparse {@link ParetoScrollsDP} engine against the dense {@link MaxScrollsDP},
+ * which is used as the oracle: every manifest is solved by both and the answers must match.
+ *
+ * Three manifest shapes are generated: complexities that are multiples of the 5-point knowledge
+ * step (so at most one knowledge level in five is reachable), uniform complexities in 0..100,
+ * and expensive safes with complexities in 50..500.
+ *
+ * Usage: java ParetoBenchmark [T1,T2,...]
+ */
+public class ParetoBenchmark {
+
+    /**
+     * Entry point of the benchmark.
+     *
+     * @param args Optional comma-separated safe counts.
+     * @throws FileNotFoundException Never; required by the solver signature.
+     */
+    public static void main(String[] args) throws FileNotFoundException {
+        String[] sizes = args.length > 0 ? args[0].split(",") : new String[]{"2000", "5000", "10000"};
+        String[] shapes = {"Step-aligned", "Uniform", "Expensive"};
+
+        System.out.println("Shape\tSafes\tDense ms\tPareto ms\tSpeedup\tMax frontier\tDense row\tScrolls");
+        for (String shape : shapes) {
+            for (String sizeText : sizes) {
+                int T = Integer.parseInt(sizeText.trim());
+                SafeSet safes = manifest(shape, T, new Random(T));
+
+                MaxScrollsDP dense = new MaxScrollsDP(safes);
+                ParetoScrollsDP pareto = new ParetoScrollsDP(safes);
+                dense.optimalSafeOpeningAlgorithm(false, null);
+                pareto.optimalSafeOpeningAlgorithm();
+
+                long start = System.nanoTime();
+                int expected = dense.optimalSafeOpeningAlgorithm(false, null).getSolution();
+                double denseMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+                start = System.nanoTime();
+                int actual = pareto.optimalSafeOpeningAlgorithm().getSolution();
+                double paretoMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+                if (actual != expected) {
+                    throw new IllegalStateException(shape + " manifest of " + T + " safes: Pareto engine found "
+                            + actual + " scrolls, dense DP found " + expected);
+                }
+                System.out.printf("%s\t%d\t%.1f\t%.1f\t%.2fx\t%d\t%d\t%d%n", shape, T, denseMillis, paretoMillis,
+                        denseMillis / paretoMillis, pareto.getMaxFrontierSize(),
+                        MaxScrollsDP.KNOWLEDGE_PER_STEP * T + 1, expected);
+            }
+        }
+    }
+
+    /**
+     * Builds a random manifest of the given shape with up to 50 scrolls per safe.
+     *
+     * @param shape  One of "Step-aligned", "Uniform" or "Expensive".
+     * @param T      Number of safes.
+     * @param random Source of randomness.
+     * @return The generated safes.
+     */
+    static SafeSet manifest(String shape, int T, Random random) {
+        int[] complexities = new int[T];
+        int[] scrolls = new int[T];
+        for (int i = 0; i < T; i++) {
+            switch (shape) {
+                case "Step-aligned": complexities[i] = MaxScrollsDP.KNOWLEDGE_PER_STEP * random.nextInt(21); break;
+                case "Uniform": complexities[i] = random.nextInt(101); break;
+                case "Expensive": complexities[i] = 50 + random.nextInt(451); break;
+                default: throw new IllegalArgumentException("Unknown manifest shape: " + shape);
+            }
+            scrolls[i] = random.nextInt(51);
+        }
+        return new SafeSet(complexities, scrolls);
+    }
+}
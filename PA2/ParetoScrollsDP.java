@@ -0,0 +1,132 @@
+import java.util.Arrays;
+
+/**
+ * Sparse engine for the Safe-lock problem that only tracks non-dominated states.
+ *
+ * A state (knowledge, scrolls) is dominated by another with at least as much knowledge
+ * and at least as many scrolls, since extra knowledge never rules out an action. After each
+ * step only the Pareto frontier is kept: sorted by knowledge in decreasing order, the scrolls
+ * increase strictly. Skipping is never better than producing knowledge, so only the produce
+ * and open transitions are generated; both keep that order, so the next frontier is a linear
+ * merge of the current one with itself.
+ *
+ * Knowledge is also capped at the total complexity of the safes still to come: a state
+ * with at least that much can open every remaining safe, so any surplus is worthless.
+ * The dense {@link MaxScrollsDP} gives the same answers and serves as the reference.
+ */
+public class ParetoScrollsDP {
+
+    /**
+     * The safes to choose from.
+     */
+    private final SafeSet safes;
+
+    /**
+     * Largest frontier seen during the last solve.
+     */
+    private int maxFrontierSize;
+
+    /**
+     * Constructs the engine for a set of safes.
+     *
+     * @param safes The safes to choose from.
+     */
+    public ParetoScrollsDP(SafeSet safes) {
+        this.safes = safes;
+    }
+
+    /**
+     * Computes the maximum number of scrolls that can be collected.
+     *
+     * @return An OptimalScrollSolution containing the safes and the maximum number of scrolls collected.
+     */
+    public OptimalScrollSolution optimalSafeOpeningAlgorithm() {
+        int T = safes.size();
+
+        // remaining[i] = total complexity of safes i..T-1, the most knowledge that can still be spent
+        long[] remaining = new long[T + 1];
+        for (int i = T - 1; i >= 0; i--) {
+            remaining[i] = remaining[i + 1] + safes.getComplexity(i);
+        }
+
+        int[] knowledge = new int[16];
+        int[] scrolls = new int[16];
+        int size = 1;
+        maxFrontierSize = 1;
+
+        for (int i = 0; i < T; i++) {
+            if (knowledge.length < 4 * size) {
+                knowledge = Arrays.copyOf(knowledge, 8 * size);
+                scrolls = Arrays.copyOf(scrolls, 8 * size);
+            }
+            int cap = (int) Math.min(remaining[i + 1], Integer.MAX_VALUE - MaxScrollsDP.KNOWLEDGE_PER_STEP);
+            size = advance(knowledge, scrolls, size, safes.getComplexity(i), safes.getScrolls(i), cap);
+            maxFrontierSize = Math.max(maxFrontierSize, size);
+        }
+
+        // scrolls grow as knowledge falls, so the last state holds the most
+        return new OptimalScrollSolution(safes, Math.max(0, scrolls[size - 1]), null);
+    }
+
+    /**
+     * @return The largest number of states kept after any step of the last solve.
+     */
+    public int getMaxFrontierSize() {
+        return maxFrontierSize;
+    }
+
+    /**
+     * Replaces the frontier in {@code knowledge[0, size)} / {@code scrolls[0, size)} by the frontier after one step.
+     * The arrays must hold at least {@code 4 * size} entries: the current states are moved to the back
+     * and read from there while the up to {@code 2 * size} new states are written at the front.
+     *
+     * @param knowledge  Knowledge of each state, strictly decreasing.
+     * @param scrolls    Scrolls of each state, strictly increasing.
+     * @param size       Number of states.
+     * @param complexity Knowledge cost of the current safe.
+     * @param reward     Scrolls in the current safe.
+     * @param cap        Knowledge above which states are merged into one.
+     * @return The number of states after the step.
+     */
+    static int advance(int[] knowledge, int[] scrolls, int size, int complexity, int reward, int cap) {
+        int base = knowledge.length - size;
+        System.arraycopy(knowledge, 0, knowledge, base, size);
+        System.arraycopy(scrolls, 0, scrolls, base, size);
+
+        int end = base + size;
+        int openEnd = base;
+        while (openEnd < end && knowledge[openEnd] >= complexity) openEnd++;
+
+        int produce = base;       // (k + 5, v)
+        int open = base;          // (k - complexity, v + reward), only for k >= complexity
+        int out = 0;
+        int bestScrolls = -1;
+
+        while (produce < end || open < openEnd) {
+            int fromProduce = produce < end ? Math.min(knowledge[produce] + MaxScrollsDP.KNOWLEDGE_PER_STEP, cap) : -1;
+            int fromOpen = open < openEnd ? Math.min(knowledge[open] - complexity, cap) : -1;
+            int k;
+            int v;
+            if (fromProduce > fromOpen) {
+                k = fromProduce;
+                v = scrolls[produce++];
+            } else if (fromOpen > fromProduce) {
+                k = fromOpen;
+                v = scrolls[open++] + reward;
+            } else {
+                k = fromProduce;
+                v = Math.max(scrolls[produce++], scrolls[open++] + reward);
+            }
+
+            if (v <= bestScrolls) continue; // dominated by a state with at least as much knowledge
+            if (out > 0 && knowledge[out - 1] == k) {
+                out--;                    // several states capped to the same knowledge
+            }
+            knowledge[out] = k;
+            scrolls[out] = v;
+            out++;
+            bestScrolls = v;
+        }
+        return out;
+    }
+}
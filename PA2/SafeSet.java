@@ -0,0 +1,278 @@
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A list of safes stored as two primitive columns instead of one boxed list per safe.
+ * Safe i needs {@code getComplexity(i)} knowledge to open and holds {@code getScrolls(i)} scrolls.
+ */
+public class SafeSet {
+
+    /**
+     * Largest initial column length taken from a file's metadata line.
+     */
+    static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+    /**
+     * Knowledge required to open each safe.
+     */
+    private int[] complexities;
+
+    /**
+     * Scrolls inside each safe.
+     */
+    private int[] scrolls;
+
+    /**
+     * Number of safes stored; the columns may be longer.
+     */
+    private int size;
+
+    /**
+     * Creates an empty set with room for the given number of safes.
+     *
+     * @param capacity Initial column length.
+     */
+    SafeSet(int capacity) {
+        this.complexities = new int[Math.max(capacity, 16)];
+        this.scrolls = new int[Math.max(capacity, 16)];
+    }
+
+    /**
+     * Creates a set from existing columns, which are not copied.
+     *
+     * @param complexities Knowledge required to open each safe.
+     * @param scrolls      Scrolls inside each safe.
+     */
+    SafeSet(int[] complexities, int[] scrolls) {
+        if (complexities.length != scrolls.length) {
+            throw new IllegalArgumentException("Columns have different lengths");
+        }
+        this.complexities = complexities;
+        this.scrolls = scrolls;
+        this.size = complexities.length;
+    }
+
+    /**
+     * Converts the boxed representation used by {@link MaxScrollsDP}.
+     *
+     * @param safes A list of safes, each represented by [complexity, scrolls].
+     * @return The same safes as primitive columns.
+     */
+    public static SafeSet fromList(ArrayList<ArrayList<Integer>> safes) {
+        SafeSet set = new SafeSet(safes.size());
+        for (ArrayList<Integer> safe : safes) {
+            set.add(safe.get(0), safe.get(1));
+        }
+        return set;
+    }
+
+    /**
+     * Reads a safe-lock file: a first line with the number of safes, then one "complexity,scrolls" pair per line.
+     * Blank lines are ignored and spaces around the numbers are allowed. The bytes are parsed directly,
+     * without creating a String or object per line.
+     *
+     * @param file The safe-lock file.
+     * @return The safes in file order.
+     * @throws IOException If the file cannot be read.
+     * @throws NumberFormatException If a line is not a pair of integers.
+     */
+    public static SafeSet read(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads safes in the safe-lock file format from a stream.
+     *
+     * @param in The stream, positioned at the metadata line.
+     * @return The safes in stream order.
+     * @throws IOException If the stream cannot be read.
+     */
+    public static SafeSet read(InputStream in) throws IOException {
+        ByteReader reader = new ByteReader(in);
+
+        // metadata line: the number of safes, only a hint to size the columns since the old parser skipped it
+        int expected = 0;
+        int b = reader.skipBlanks();
+        if (b >= '0' && b <= '9') {
+            try {
+                expected = reader.parseInt(b);
+                b = reader.read();
+            } catch (NumberFormatException e) {
+                b = 0; // too large for an int, ignored like any other header
+            }
+        }
+        if (b != '\n' && b != -1) {
+            reader.skipLine();
+        }
+
+        // a stale or bogus count must not allocate more than a modest start; add() grows the columns
+        SafeSet set = new SafeSet(Math.min(expected, MAX_INITIAL_CAPACITY));
+        int line = 1;
+        while ((b = reader.skipBlanks()) != -1) {
+            line++;
+            if (b == '\n') continue;
+
+            int complexity = reader.parseInt(b);
+            if (reader.skipBlanks() != ',') {
+                throw new NumberFormatException("Line " + line + ": expected complexity,scrolls");
+            }
+            int reward = reader.parseInt(reader.skipBlanks());
+            // like split(","), anything after the second field is ignored
+            int end = reader.skipBlanks();
+            if (end != '\n' && end != -1) {
+                reader.skipLine();
+            }
+            set.add(complexity, reward);
+        }
+        return set;
+    }
+
+    /**
+     * Appends one safe.
+     *
+     * @param complexity Knowledge required to open the safe.
+     * @param reward     Scrolls inside the safe.
+     */
+    void add(int complexity, int reward) {
+        if (size == complexities.length) {
+            complexities = Arrays.copyOf(complexities, size * 2);
+            scrolls = Arrays.copyOf(scrolls, size * 2);
+        }
+        complexities[size] = complexity;
+        scrolls[size] = reward;
+        size++;
+    }
+
+    /**
+     * @return The number of safes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i Index of the safe.
+     * @return Knowledge required to open safe i.
+     */
+    public int getComplexity(int i) {
+        return complexities[i];
+    }
+
+    /**
+     * @param i Index of the safe.
+     * @return Scrolls inside safe i.
+     */
+    public int getScrolls(int i) {
+        return scrolls[i];
+    }
+
+    /**
+     * Converts back to the boxed representation, creating one list per safe.
+     *
+     * @return A list of safes, each represented by [complexity, scrolls].
+     */
+    public ArrayList<ArrayList<Integer>> toList() {
+        ArrayList<ArrayList<Integer>> safes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ArrayList<Integer> pair = new ArrayList<>(2);
+            pair.add(complexities[i]);
+            pair.add(scrolls[i]);
+            safes.add(pair);
+        }
+        return safes;
+    }
+
+    /**
+     * Formats the safes exactly like {@code toList().toString()}.
+     *
+     * @return A string such as "[[10, 3], [25, 7]]".
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(size * 10 + 2);
+        sb.append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append('[').append(complexities[i]).append(", ").append(scrolls[i]).append(']');
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Buffered byte source with the few parsing steps the safe-lock format needs.
+     */
+    private static final class ByteReader {
+        private final InputStream in;
+        private final byte[] buffer = new byte[1 << 16];
+        private int pos;
+        private int limit;
+
+        ByteReader(InputStream in) {
+            this.in = in;
+        }
+
+        int read() throws IOException {
+            if (pos == limit) {
+                limit = in.read(buffer, 0, buffer.length);
+                pos = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[pos++] & 0xFF;
+        }
+
+        /**
+         * @return The next byte that is not a space, tab or carriage return, or -1 at the end.
+         */
+        int skipBlanks() throws IOException {
+            int b;
+            do {
+                b = read();
+            } while (b == ' ' || b == '\t' || b == '\r');
+            return b;
+        }
+
+        void skipLine() throws IOException {
+            int b;
+            do {
+                b = read();
+            } while (b != '\n' && b != -1);
+        }
+
+        /**
+         * Parses a decimal integer with an optional sign, as {@link Integer#parseInt(String)} accepts it,
+         * whose first byte has already been read. The byte after the number is pushed back.
+         */
+        int parseInt(int first) throws IOException {
+            boolean negative = first == '-';
+            int b = negative || first == '+' ? read() : first;
+            if (b < '0' || b > '9') {
+                throw new NumberFormatException("Expected a digit but found '" + (b == -1 ? "EOF" : (char) b) + "'");
+            }
+
+            long value = 0;
+            while (b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                if (value > (long) Integer.MAX_VALUE + 1) {
+                    throw new NumberFormatException("Number does not fit in an int");
+                }
+                b = read();
+            }
+            if (b != -1) pos--;
+
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                throw new NumberFormatException("Number does not fit in an int");
+            }
+            return (int) value;
+        }
+    }
+}
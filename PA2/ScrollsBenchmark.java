@@ -0,0 +1,95 @@
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how the Safe-lock DP scales with the number of worker threads.
+ * Random manifests are solved several times per pool size after a warm-up run, and the median
+ * and fastest times are printed with the median speedup over the single-threaded sweep.
+ *
+ * The default sizes stop at 100,000 safes, the first size whose rows are wide enough to show
+ * the parallel fill clearly. The sweep is quadratic in the number of safes, so 200,000 safes take
+ * about four times as long per run (over five minutes single-threaded on one core) and are opt-in:
+ * {@code java ScrollsBenchmark 25000,50000,100000,200000}.
+ *
+ * Usage: java ScrollsBenchmark [T1,T2,...] [threads1,threads2,...] [runs]
+ */
+public class ScrollsBenchmark {
+
+    /**
+     * Entry point of the benchmark.
+     *
+     * @param args Optional comma-separated safe counts and thread counts, and the number of timed runs per cell (default 3).
+     * @throws FileNotFoundException Never; required by the solver signature.
+     */
+    public static void main(String[] args) throws FileNotFoundException {
+        int[] sizes = args.length > 0 ? parseList(args[0]) : new int[]{25_000, 50_000, 100_000};
+        int[] threads = args.length > 1 ? parseList(args[1]) : defaultThreads();
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        if (runs < 1) {
+            throw new IllegalArgumentException("At least one timed run is needed");
+        }
+
+        System.out.println("Safes\tThreads\tMedian ms\tMin ms\tSpeedup\tScrolls");
+        for (int T : sizes) {
+            ArrayList<ArrayList<Integer>> safes = randomSafes(T, new Random(T));
+            MaxScrollsDP solver = new MaxScrollsDP(safes);
+            double sequential = 0;
+
+            for (int t : threads) {
+                ForkJoinPool pool = t == 1 ? null : new ForkJoinPool(t);
+                solver.optimalSafeOpeningAlgorithm(false, pool);
+
+                double[] millis = new double[runs];
+                int scrolls = 0;
+                for (int run = 0; run < runs; run++) {
+                    long start = System.nanoTime();
+                    scrolls = solver.optimalSafeOpeningAlgorithm(false, pool).getSolution();
+                    millis[run] = (System.nanoTime() - start) / 1_000_000.0;
+                }
+                Arrays.sort(millis);
+                double median = runs % 2 == 1 ? millis[runs / 2] : (millis[runs / 2 - 1] + millis[runs / 2]) / 2;
+                if (t == 1) sequential = median;
+
+                System.out.printf("%d\t%d\t%.1f\t%.1f\t%s\t%d%n", T, t, median, millis[0],
+                        sequential > 0 ? String.format("%.2fx", sequential / median) : "-", scrolls);
+                if (pool != null) pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Builds a manifest with complexities up to 100 and up to 50 scrolls per safe.
+     *
+     * @param T      Number of safes.
+     * @param random Source of randomness.
+     * @return The list of safes as [complexity, scrolls] pairs.
+     */
+    static ArrayList<ArrayList<Integer>> randomSafes(int T, Random random) {
+        ArrayList<ArrayList<Integer>> safes = new ArrayList<>();
+        for (int i = 0; i < T; i++) {
+            ArrayList<Integer> pair = new ArrayList<>();
+            pair.add(random.nextInt(101));
+            pair.add(random.nextInt(51));
+            safes.add(pair);
+        }
+        return safes;
+    }
+
+    private static int[] defaultThreads() {
+        ArrayList<Integer> counts = new ArrayList<>();
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int t = 1; t < cores; t *= 2) counts.add(t);
+        counts.add(cores);
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] parseList(String csv) {
+        String[] parts = csv.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) values[i] = Integer.parseInt(parts[i].trim());
+        return values;
+    }
+}
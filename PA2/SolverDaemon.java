@@ -0,0 +1,314 @@
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Long-running solver service, so that many small runs share one warmed-up JVM.
+ *
+ * Requests are read one per line, from standard input or from clients of a loopback socket:
+ * - {@code run <fileA> <fileB> [flags]}: the report {@link Main} would print for the two files.
+ * - {@code stats}: request count, cache hit rate and latency percentiles.
+ * - {@code quit}: closes the connection (or ends the stdin session).
+ * - {@code shutdown}: stops the service.
+ * Every response ends with a line holding only {@value #END_OF_RESPONSE}.
+ *
+ * Reports are kept in an LRU cache bounded by their total size and keyed by the SHA-256 of both
+ * inputs together with the options that change the report, so a renamed or touched file with the
+ * same content is still a hit while an edited one is not.
+ *
+ * Usage: java SolverDaemon [--port=N] [--cache-mb=M]
+ */
+public class SolverDaemon {
+
+    /**
+     * Line that ends every response.
+     */
+    static final String END_OF_RESPONSE = "##END##";
+
+    /**
+     * Number of recent request latencies the percentiles are computed from.
+     */
+    private static final int LATENCY_WINDOW = 4096;
+
+    /**
+     * Reports by input key, least recently used first.
+     */
+    private final LinkedHashMap<String, String> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Largest total size of the cached reports, in characters.
+     */
+    private final long cacheLimitChars;
+
+    private long cachedChars;
+    private long recorded;
+    private long requests;
+    private long hits;
+    private long evictions;
+
+    /**
+     * Latencies of the last {@link #LATENCY_WINDOW} run requests, in nanoseconds, as a ring.
+     */
+    private final long[] latencies = new long[LATENCY_WINDOW];
+
+    private volatile boolean running = true;
+
+    /**
+     * Creates a service with an empty cache.
+     *
+     * @param cacheLimitChars Largest total size of the cached reports, in characters.
+     */
+    SolverDaemon(long cacheLimitChars) {
+        this.cacheLimitChars = cacheLimitChars;
+    }
+
+    /**
+     * Entry point of the service.
+     *
+     * @param args Optional {@code --port=N} to listen on the loopback interface instead of standard input,
+     *             and {@code --cache-mb=M} to bound the cache (default 64 MB).
+     * @throws IOException If the socket cannot be opened.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = -1;
+        long cacheMegabytes = 64;
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            } else if (arg.startsWith("--cache-mb=")) {
+                cacheMegabytes = Long.parseLong(arg.substring("--cache-mb=".length()));
+            }
+        }
+
+        SolverDaemon daemon = new SolverDaemon(cacheMegabytes * 1024 * 1024 / 2);
+        daemon.warmUp();
+        if (port < 0) {
+            daemon.serve(System.in, System.out);
+        } else {
+            daemon.listen(port);
+        }
+    }
+
+    /**
+     * Serves clients of a loopback socket, each on its own worker thread, until a shutdown request.
+     *
+     * @param port Port to listen on; 0 picks a free one.
+     * @throws IOException If the socket cannot be opened.
+     */
+    void listen(int port) throws IOException {
+        ExecutorService workers = Executors.newCachedThreadPool();
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            System.err.println("Solver daemon listening on " + server.getLocalSocketAddress());
+            server.setSoTimeout(500); // wake up regularly to notice a shutdown request
+            while (running) {
+                Socket client;
+                try {
+                    client = server.accept();
+                } catch (SocketTimeoutException e) {
+                    continue;
+                }
+                workers.execute(() -> {
+                    try (Socket socket = client) {
+                        serve(socket.getInputStream(), socket.getOutputStream());
+                    } catch (IOException e) {
+                        System.err.println("Client connection failed: " + e.getMessage());
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * Answers the requests of one client until it quits or its input ends.
+     *
+     * @param in  Source of request lines.
+     * @param out Destination of the responses.
+     * @throws IOException If reading a request fails.
+     */
+    void serve(InputStream in, OutputStream out) throws IOException {
+        BufferedReader requests = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        PrintStream responses = new PrintStream(out, false, StandardCharsets.UTF_8);
+        String line;
+        while (running && (line = requests.readLine()) != null) {
+            String[] words = line.trim().split("\\s+");
+            if (words[0].isEmpty()) continue;
+
+            switch (words[0]) {
+                case "quit":
+                    return;
+                case "shutdown":
+                    running = false;
+                    responses.println("Shutting down");
+                    break;
+                case "stats":
+                    responses.println(stats());
+                    break;
+                case "run":
+                    try {
+                        responses.println(run(words));
+                    } catch (IOException | RuntimeException e) {
+                        responses.println("ERROR " + e);
+                    }
+                    break;
+                default:
+                    responses.println("ERROR unknown request: " + words[0]);
+            }
+            responses.println(END_OF_RESPONSE);
+            responses.flush();
+        }
+    }
+
+    /**
+     * Answers a run request from the cache, or solves it and caches the report.
+     *
+     * @param words The request: "run", two file paths and optional flags.
+     * @return The report.
+     * @throws IOException If a file cannot be read.
+     */
+    String run(String[] words) throws IOException {
+        if (words.length < 3) {
+            throw new IllegalArgumentException("usage: run <fileA> <fileB> [flags]");
+        }
+        long start = System.nanoTime();
+        byte[] inputA = Files.readAllBytes(Paths.get(words[1]));
+        byte[] inputB = Files.readAllBytes(Paths.get(words[2]));
+        Main.Options options = Main.Options.parse(words, 3);
+
+        // the report does not depend on the order of the files
+        String hashA = sha256(inputA);
+        String hashB = sha256(inputB);
+        String key = (hashA.compareTo(hashB) <= 0 ? hashA + hashB : hashB + hashA) + " " + options;
+
+        String report = lookup(key);
+        if (report == null) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            PrintStream out = new PrintStream(buffer, false, StandardCharsets.UTF_8);
+            Main.run(new ByteArrayInputStream(inputA), new ByteArrayInputStream(inputB), options, out);
+            out.flush();
+            report = buffer.toString(StandardCharsets.UTF_8);
+            store(key, report);
+        }
+        record(System.nanoTime() - start);
+        return report;
+    }
+
+    private synchronized String lookup(String key) {
+        requests++;
+        String report = cache.get(key);
+        if (report != null) hits++;
+        return report;
+    }
+
+    private synchronized void store(String key, String report) {
+        if (report.length() > cacheLimitChars) return;
+        String previous = cache.put(key, report);
+        if (previous != null) cachedChars -= previous.length();
+        cachedChars += report.length();
+
+        Iterator<Map.Entry<String, String>> eldest = cache.entrySet().iterator();
+        while (cachedChars > cacheLimitChars && eldest.hasNext()) {
+            Map.Entry<String, String> entry = eldest.next();
+            cachedChars -= entry.getValue().length();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private synchronized void record(long nanos) {
+        latencies[(int) (recorded++ % LATENCY_WINDOW)] = nanos;
+    }
+
+    /**
+     * Summarizes the cache and the latencies of recent run requests.
+     *
+     * @return One line of statistics.
+     */
+    synchronized String stats() {
+        int samples = (int) Math.min(recorded, LATENCY_WINDOW);
+        long[] sorted = Arrays.copyOf(latencies, samples);
+        Arrays.sort(sorted);
+        return String.format("requests=%d hits=%d hitRate=%.1f%% cached=%d cachedChars=%d evictions=%d "
+                        + "p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms",
+                requests, hits, requests == 0 ? 0.0 : 100.0 * hits / requests, cache.size(), cachedChars, evictions,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 1.0));
+    }
+
+    /**
+     * Nearest-rank percentile of sorted latencies, in milliseconds.
+     */
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+
+    /**
+     * Solves a few synthetic inputs so that the first real requests run compiled code.
+     * The results are not cached.
+     */
+    void warmUp() {
+        Random random = new Random(1);
+        StringBuilder safes = new StringBuilder("300\n");
+        for (int i = 0; i < 300; i++) {
+            safes.append(random.nextInt(101)).append(',').append(random.nextInt(51)).append('\n');
+        }
+        StringBuilder artifacts = new StringBuilder();
+        for (int line = 0; line < 200; line++) {
+            artifacts.append('[');
+            for (int i = 0; i < 100; i++) {
+                if (i > 0) artifacts.append(',');
+                artifacts.append('"').append(1 + random.nextInt(100)).append('"');
+            }
+            artifacts.append("]\n");
+        }
+
+        byte[] safeBytes = safes.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] artifactBytes = artifacts.toString().getBytes(StandardCharsets.UTF_8);
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        try {
+            for (int round = 0; round < 5; round++) {
+                Main.run(new ByteArrayInputStream(safeBytes), new ByteArrayInputStream(artifactBytes),
+                        new Main.Options(), discard);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // in-memory streams do not fail
+        }
+    }
+
+    /**
+     * @return The SHA-256 digest of the bytes in hexadecimal.
+     */
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(2 * digest.length);
+            for (byte b : digest) hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every Java platform", e);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Safe-lock solver that receives safes one at a time.
+ *
+ * The solver keeps the Pareto frontier of (knowledge, scrolls) states reachable after the
+ * safes seen so far, exactly as {@link ParetoScrollsDP} does, and each {@link #append(int, int)}
+ * advances it by one step. Since future safes are unknown, knowledge is not capped.
+ * The frontier can be written to a stream and read back, so a long-running process can
+ * checkpoint and resume without replaying the safes it has already seen.
+ */
+public class StreamingScrollsSolver {
+
+    /** First bytes of a snapshot ("SCRL"). */
+    private static final int SNAPSHOT_MAGIC = 0x5343524C;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    /** Knowledge never grows past this, so produce steps cannot overflow. */
+    private static final int KNOWLEDGE_LIMIT = Integer.MAX_VALUE - MaxScrollsDP.KNOWLEDGE_PER_STEP;
+
+    /**
+     * Knowledge of each frontier state, strictly decreasing.
+     */
+    private int[] knowledge;
+
+    /**
+     * Scrolls of each frontier state, strictly increasing.
+     */
+    private int[] scrolls;
+
+    /**
+     * Number of frontier states.
+     */
+    private int size;
+
+    /**
+     * Number of safes appended so far.
+     */
+    private long safesSeen;
+
+    /**
+     * Creates a solver that has not seen any safe: the only state is no knowledge and no scrolls.
+     */
+    public StreamingScrollsSolver() {
+        this(new int[16], new int[16], 1, 0);
+    }
+
+    private StreamingScrollsSolver(int[] knowledge, int[] scrolls, int size, long safesSeen) {
+        this.knowledge = knowledge;
+        this.scrolls = scrolls;
+        this.size = size;
+        this.safesSeen = safesSeen;
+    }
+
+    /**
+     * Advances the solver by one safe; the step can be used to produce knowledge, open this safe, or skip it.
+     *
+     * @param complexity Knowledge required to open the safe.
+     * @param reward     Scrolls inside the safe.
+     */
+    public void append(int complexity, int reward) {
+        if (knowledge.length < 4 * size) {
+            knowledge = Arrays.copyOf(knowledge, 8 * size);
+            scrolls = Arrays.copyOf(scrolls, 8 * size);
+        }
+        size = ParetoScrollsDP.advance(knowledge, scrolls, size, complexity, reward, KNOWLEDGE_LIMIT);
+        safesSeen++;
+    }
+
+    /**
+     * Gets the maximum number of scrolls collectible from the safes seen so far.
+     * The state with the least knowledge on the frontier holds the most scrolls, so this is O(1).
+     *
+     * @return The optimal number of scrolls so far.
+     */
+    public int currentMax() {
+        return Math.max(0, scrolls[size - 1]);
+    }
+
+    /**
+     * @return The number of safes appended so far, including those before a restored snapshot.
+     */
+    public long getSafesSeen() {
+        return safesSeen;
+    }
+
+    /**
+     * @return The number of non-dominated states currently kept.
+     */
+    public int getFrontierSize() {
+        return size;
+    }
+
+    /**
+     * Writes the solver state; the stream is flushed but not closed.
+     *
+     * @param out Destination of the snapshot.
+     * @throws IOException If writing fails.
+     */
+    public void writeSnapshot(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(SNAPSHOT_MAGIC);
+        data.writeInt(SNAPSHOT_VERSION);
+        data.writeLong(safesSeen);
+        data.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            data.writeInt(knowledge[i]);
+            data.writeInt(scrolls[i]);
+        }
+        data.flush();
+    }
+
+    /**
+     * Restores a solver from a snapshot written by {@link #writeSnapshot(OutputStream)}.
+     *
+     * @param in Source of the snapshot.
+     * @return A solver in the same state as the one that wrote the snapshot.
+     * @throws IOException If reading fails or the data is not a valid snapshot.
+     */
+    public static StreamingScrollsSolver readSnapshot(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a safe-lock solver snapshot");
+        }
+        int version = data.readInt();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+
+        long safesSeen = data.readLong();
+        int size = data.readInt();
+        // append() keeps 4 * size slots, so a larger size cannot have been written
+        if (safesSeen < 0 || size < 1 || size > (Integer.MAX_VALUE - 16) / 4) {
+            throw new IOException("Corrupt snapshot header");
+        }
+
+        // grown while reading, so a truncated snapshot fails on EOF instead of allocating what its header claims
+        int[] knowledge = new int[Math.min(Math.max(16, 4 * size), 1 << 16)];
+        int[] scrolls = new int[knowledge.length];
+        for (int i = 0; i < size; i++) {
+            if (i == knowledge.length) {
+                knowledge = Arrays.copyOf(knowledge, (int) Math.min(4L * size, 2L * i));
+                scrolls = Arrays.copyOf(scrolls, knowledge.length);
+            }
+            knowledge[i] = data.readInt();
+            scrolls[i] = data.readInt();
+            if (i > 0 && (knowledge[i] >= knowledge[i - 1] || scrolls[i] <= scrolls[i - 1])) {
+                throw new IOException("Corrupt snapshot: frontier is not sorted at state " + i);
+            }
+        }
+        return new StreamingScrollsSolver(knowledge, scrolls, size, safesSeen);
+    }
+
+    /**
+     * Reads "complexity,scrolls" lines from standard input and prints the running maximum after each one.
+     * If a snapshot file is given, the solver resumes from it when it exists and saves to it at the end of input.
+     *
+     * Usage: java StreamingScrollsSolver [snapshot_file]
+     *
+     * @param args Optional snapshot file path.
+     * @throws IOException If reading input or the snapshot fails.
+     */
+    public static void main(String[] args) throws IOException {
+        File snapshot = args.length > 0 ? new File(args[0]) : null;
+        StreamingScrollsSolver solver;
+        if (snapshot != null && snapshot.exists()) {
+            try (InputStream in = new FileInputStream(snapshot)) {
+                solver = readSnapshot(in);
+            }
+            System.out.println("Resumed after " + solver.getSafesSeen() + " safes, maximum scrolls: " + solver.currentMax());
+        } else {
+            solver = new StreamingScrollsSolver();
+        }
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty()) continue;
+            String[] parts = line.split(",");
+            solver.append(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+            System.out.println("Maximum scrolls acquired: " + solver.currentMax());
+        }
+
+        if (snapshot != null) {
+            try (OutputStream out = new FileOutputStream(snapshot)) {
+                solver.writeSnapshot(out);
+            }
+        }
+    }
+}
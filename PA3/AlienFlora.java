@@ -1,5 +1,3 @@
-import org.w3c.dom.*;
-import javax.xml.parsers.*;
 import java.io.File;
 import java.util.*;
 /**
@@ -10,6 +8,8 @@ import java.util.*;
 public class AlienFlora {
     /** Input XML file. */
     private File xmlFile;
+    /** Contents of the XML file, read once by the first step that needs them. */
+    private FloraData data;
     /** List of genome clusters detected from genome graph. */
     public static List<GenomeCluster> clusters = new ArrayList<>();
     /**
@@ -20,6 +20,18 @@ public class AlienFlora {
     public AlienFlora(File xmlFile) {
         this.xmlFile = xmlFile;
     }
+    /**
+     * Returns the contents of the XML file, reading it in a single streaming pass the first time.
+     *
+     * @return Genomes, links and pairs of the XML file
+     * @throws Exception If the file cannot be read or parsed
+     */
+    private FloraData getData() throws Exception {
+        if (data == null) {
+            data = FloraData.load(xmlFile);
+        }
+        return data;
+    }
     /**
      * Parses genomes and their links from the XML and builds genome clusters.
      * This method identifies connected components in the genome graph.
@@ -28,64 +40,7 @@ public class AlienFlora {
         System.out.println("##Start Reading Flora Genomes##");
 
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(xmlFile);
-
-            NodeList genomeNodes = doc.getElementsByTagName("genome");
-
-            Map<String, Genome> allGenomes = new HashMap<>();
-
-            for (int i = 0; i < genomeNodes.getLength(); i++) {
-                Element genomeElement = (Element) genomeNodes.item(i);
-                String id = genomeElement.getElementsByTagName("id").item(0).getTextContent();
-                int evolutionFactor = Integer.parseInt(genomeElement.getElementsByTagName("evolutionFactor").item(0).getTextContent());
-                Genome genome = new Genome(id, evolutionFactor);
-
-                NodeList linkNodes = genomeElement.getElementsByTagName("link");
-                for (int j = 0; j < linkNodes.getLength(); j++) {
-                    Element linkElement = (Element) linkNodes.item(j);
-                    String target = linkElement.getElementsByTagName("target").item(0).getTextContent();
-                    int adaptationFactor = Integer.parseInt(linkElement.getElementsByTagName("adaptationFactor").item(0).getTextContent());
-                    genome.addLink(target, adaptationFactor);
-                }
-                allGenomes.put(id, genome);
-            }
-
-            Set<String> visited = new HashSet<>();
-            clusters = new ArrayList<>();
-
-            for (String id : allGenomes.keySet()) {
-                if (!visited.contains(id)) {
-                    GenomeCluster cluster = new GenomeCluster();
-                    Queue<String> queue = new LinkedList<>();
-                    queue.add(id);
-                    visited.add(id);
-
-                    while (!queue.isEmpty()) {
-                        String currentId = queue.poll();
-                        Genome genome = allGenomes.get(currentId);
-                        cluster.addGenome(genome);
-
-                        for (Genome.Link link : genome.links) {
-                            if (!visited.contains(link.target)) {
-                                queue.add(link.target);
-                                visited.add(link.target);
-                            }
-                        }
-
-                        for (Genome g : allGenomes.values()) {
-                            for (Genome.Link l : g.links) {
-                                if (l.target.equals(currentId) && !visited.contains(g.id)) {
-                                    queue.add(g.id);
-                                    visited.add(g.id);
-                                }
-                            }
-                        }
-                    }
-                    clusters.add(cluster);
-                }
-            }
+            clusters = buildClusters(getData());
 
             System.out.println("Number of Genome Clusters: " + clusters.size());
             System.out.print("For the Genomes: [");
@@ -102,6 +57,28 @@ public class AlienFlora {
             e.printStackTrace();
         }
     }
+    /**
+     * Groups the genomes into clusters, the connected components of the genome graph with links
+     * taken in both directions, using the disjoint sets built while the genomes were read.
+     * Clusters are listed in the order their first genome comes in the genome map.
+     *
+     * @param data Genomes with their clusters, after every genome has been added
+     * @return Genome clusters
+     */
+    public static List<GenomeCluster> buildClusters(FloraData data) {
+        List<GenomeCluster> result = new ArrayList<>();
+        Map<Integer, GenomeCluster> clusterOfSet = new HashMap<>();
+        for (Map.Entry<String, Genome> entry : data.genomes.entrySet()) {
+            GenomeCluster cluster = clusterOfSet.get(data.clusterOf(entry.getKey()));
+            if (cluster == null) {
+                cluster = new GenomeCluster();
+                clusterOfSet.put(data.clusterOf(entry.getKey()), cluster);
+                result.add(cluster);
+            }
+            cluster.addGenome(entry.getValue());
+        }
+        return result;
+    }
     /**
      * Evaluates possible evolution pairs across clusters.
      * Uses the minimum evolution factor in each cluster and computes their average.
@@ -111,21 +88,18 @@ public class AlienFlora {
         System.out.println("##Start Evaluating Possible Evolutions##");
 
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(xmlFile);
-
-            NodeList pairNodes = doc.getElementsByTagName("possibleEvolutionPairs").item(0).getChildNodes();
+            List<FloraData.Pair> pairs = getData().evolutionPairs;
+            if (pairs == null) {
+                throw new IllegalStateException("No possibleEvolutionPairs element in " + xmlFile);
+            }
 
             int possible = 0;
             int certified = 0;
             List<Double> factors = new ArrayList<>();
 
-            for (int i = 0; i < pairNodes.getLength(); i++) {
-                if (pairNodes.item(i).getNodeType() != Node.ELEMENT_NODE) continue;
-                Element pairElement = (Element) pairNodes.item(i);
-                String firstId = pairElement.getElementsByTagName("firstId").item(0).getTextContent();
-                String secondId = pairElement.getElementsByTagName("secondId").item(0).getTextContent();
+            for (FloraData.Pair pair : pairs) {
+                String firstId = pair.firstId;
+                String secondId = pair.secondId;
 
                 GenomeCluster firstCluster = null;
                 GenomeCluster secondCluster = null;
@@ -168,21 +142,18 @@ public class AlienFlora {
         System.out.println("##Start Evaluating Possible Adaptations##");
 
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(xmlFile);
-
-            NodeList pairNodes = doc.getElementsByTagName("possibleAdaptationPairs").item(0).getChildNodes();
+            List<FloraData.Pair> pairs = getData().adaptationPairs;
+            if (pairs == null) {
+                throw new IllegalStateException("No possibleAdaptationPairs element in " + xmlFile);
+            }
 
             int possible = 0;
             int certified = 0;
             List<Integer> factors = new ArrayList<>();
 
-            for (int i = 0; i < pairNodes.getLength(); i++) {
-                if (pairNodes.item(i).getNodeType() != Node.ELEMENT_NODE) continue;
-                Element pairElement = (Element) pairNodes.item(i);
-                String firstId = pairElement.getElementsByTagName("firstId").item(0).getTextContent();
-                String secondId = pairElement.getElementsByTagName("secondId").item(0).getTextContent();
+            for (FloraData.Pair pair : pairs) {
+                String firstId = pair.firstId;
+                String secondId = pair.secondId;
 
                 GenomeCluster firstCluster = null;
                 GenomeCluster secondCluster = null;
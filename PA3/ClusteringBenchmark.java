@@ -0,0 +1,139 @@
+import java.util.*;
+/**
+ * Compares genome cluster detection by breadth-first search, as readGenomes used to do it,
+ * with the disjoint sets of {@link FloraData} on random genome graphs of doubling size.
+ * <p>
+ * The search scans every link of every genome to find the links coming into each dequeued genome,
+ * so it takes O(V·E) time and is only run up to a size limit; the disjoint sets take near-linear time.
+ * Both must produce the same clusters in the same order.
+ *
+ * Usage: java ClusteringBenchmark [maxGenomes] [linksPerGenome] [searchLimit]
+ */
+public class ClusteringBenchmark {
+    /**
+     * Entry point of the benchmark.
+     *
+     * @param args Optional largest genome count (default 1,000,000), average links per genome (default 1)
+     *             and largest genome count the search is run for (default 16,000)
+     */
+    public static void main(String[] args) {
+        int maxGenomes = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int linksPerGenome = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int searchLimit = args.length > 2 ? Integer.parseInt(args[2]) : 16_000;
+
+        System.out.println("Genomes\tLinks\tClusters\tSearch ms\tUnion-find ms\tSpeed-up");
+        for (int n = 1000; n <= maxGenomes; n *= 2) {
+            List<Genome> genomes = randomGenomes(n, linksPerGenome, new Random(n));
+            int links = 0;
+            for (Genome genome : genomes) {
+                links += genome.links.size();
+            }
+
+            long start = System.nanoTime();
+            FloraData data = new FloraData();
+            for (Genome genome : genomes) {
+                data.addGenome(genome);
+            }
+            data.resolvePendingLinks();
+            List<GenomeCluster> fast = AlienFlora.buildClusters(data);
+            double unionFindMillis = (System.nanoTime() - start) / 1e6;
+
+            String searchMillis = "-";
+            String speedUp = "-";
+            if (n <= searchLimit) {
+                Map<String, Genome> allGenomes = new HashMap<>();
+                for (Genome genome : genomes) {
+                    allGenomes.put(genome.id, genome);
+                }
+                start = System.nanoTime();
+                List<GenomeCluster> slow = searchClusters(allGenomes);
+                double millis = (System.nanoTime() - start) / 1e6;
+                if (!sortedIds(slow).equals(sortedIds(fast))) {
+                    throw new IllegalStateException("Different clusters for " + n + " genomes");
+                }
+                searchMillis = String.format("%.1f", millis);
+                speedUp = String.format("%.0fx", millis / unionFindMillis);
+            }
+            System.out.printf("%d\t%d\t%d\t%s\t%.1f\t%s%n", n, links, fast.size(), searchMillis, unionFindMillis, speedUp);
+        }
+    }
+    /**
+     * Generates genomes with links to random genomes, including genomes that come later.
+     *
+     * @param n Number of genomes
+     * @param linksPerGenome Average number of links of a genome
+     * @param random Source of randomness
+     * @return Genomes in file order
+     */
+    static List<Genome> randomGenomes(int n, int linksPerGenome, Random random) {
+        List<Genome> genomes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Genome genome = new Genome("G" + i, random.nextInt(100));
+            int links = random.nextInt(2 * linksPerGenome + 1);
+            for (int j = 0; j < links; j++) {
+                genome.addLink("G" + random.nextInt(n), 1 + random.nextInt(20));
+            }
+            genomes.add(genome);
+        }
+        return genomes;
+    }
+    /**
+     * Finds the genome clusters by breadth-first search, looking for incoming links by scanning
+     * all genomes. This is the method readGenomes used before the disjoint sets.
+     *
+     * @param allGenomes Genomes by ID
+     * @return Genome clusters
+     */
+    static List<GenomeCluster> searchClusters(Map<String, Genome> allGenomes) {
+        Set<String> visited = new HashSet<>();
+        List<GenomeCluster> result = new ArrayList<>();
+
+        for (String id : allGenomes.keySet()) {
+            if (!visited.contains(id)) {
+                GenomeCluster cluster = new GenomeCluster();
+                Queue<String> queue = new LinkedList<>();
+                queue.add(id);
+                visited.add(id);
+
+                while (!queue.isEmpty()) {
+                    String currentId = queue.poll();
+                    Genome genome = allGenomes.get(currentId);
+                    cluster.addGenome(genome);
+
+                    for (Genome.Link link : genome.links) {
+                        if (!visited.contains(link.target)) {
+                            queue.add(link.target);
+                            visited.add(link.target);
+                        }
+                    }
+
+                    for (Genome g : allGenomes.values()) {
+                        for (Genome.Link l : g.links) {
+                            if (l.target.equals(currentId) && !visited.contains(g.id)) {
+                                queue.add(g.id);
+                                visited.add(g.id);
+                            }
+                        }
+                    }
+                }
+                result.add(cluster);
+            }
+        }
+        return result;
+    }
+    /**
+     * Lists the sorted genome IDs of each cluster, as readGenomes prints them.
+     *
+     * @param clusters Genome clusters
+     * @return Sorted IDs of every cluster, in cluster order
+     */
+    private static List<List<String>> sortedIds(List<GenomeCluster> clusters) {
+        List<List<String>> clusterIds = new ArrayList<>();
+        for (GenomeCluster cluster : clusters) {
+            List<String> ids = new ArrayList<>(cluster.genomeMap.keySet());
+            Collections.sort(ids);
+            clusterIds.add(ids);
+        }
+        return clusterIds;
+    }
+}
@@ -0,0 +1,244 @@
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+/**
+ * Everything AlienFlora needs from the input XML, read in a single streaming pass.
+ * <p>
+ * The document is never held in memory: genomes, their links and the evolution and adaptation
+ * pairs are copied out of the event stream as they go by, so the memory used is proportional
+ * to the genome graph rather than to the size of the file.
+ * <p>
+ * Genome clusters are tracked in a {@link GenomeUnionFind} that is fed each genome's links as
+ * soon as the genome has been read.
+ */
+public class FloraData {
+    /** Genomes by ID, in the order a HashMap filled in document order iterates them. */
+    public Map<String, Genome> genomes = new HashMap<>();
+    /** Pairs listed under the first possibleEvolutionPairs element, or null if there is none. */
+    public List<Pair> evolutionPairs;
+    /** Pairs listed under the first possibleAdaptationPairs element, or null if there is none. */
+    public List<Pair> adaptationPairs;
+    /** Clusters of the genome graph, over the indices of {@link #indexOf}. */
+    public GenomeUnionFind sets = new GenomeUnionFind();
+    /** Index of every ID seen as a genome or as a link target. */
+    private Map<String, Integer> indexOf = new HashMap<>();
+    /** ID of every index, so that links and pairs share the strings of the genomes. */
+    private List<String> ids = new ArrayList<>();
+    /** Indices that belong to a genome read so far, as opposed to mere link targets. */
+    private BitSet declared = new BitSet();
+    /** Links whose target was not a known genome yet, as (source, target) index pairs. */
+    private int[] pendingLinks = new int[16];
+    /** Number of ints used in {@link #pendingLinks}. */
+    private int pendingSize;
+    /**
+     * Represents a pair of genome IDs to be evaluated.
+     */
+    public static class Pair {
+        /** ID of the first genome. */
+        public String firstId;
+        /** ID of the second genome. */
+        public String secondId;
+        /**
+         * Constructs a pair of genome IDs.
+         *
+         * @param firstId ID of the first genome
+         * @param secondId ID of the second genome
+         */
+        public Pair(String firstId, String secondId) {
+            this.firstId = firstId;
+            this.secondId = secondId;
+        }
+    }
+    /**
+     * Reads the given XML file in one pass.
+     *
+     * @param xmlFile Input XML file describing genomes, links and pairs
+     * @return The data read from the file
+     * @throws IOException If the file cannot be read
+     * @throws XMLStreamException If the file is not well-formed XML
+     */
+    public static FloraData load(File xmlFile) throws IOException, XMLStreamException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(xmlFile), 1 << 16)) {
+            XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(in);
+            try {
+                FloraData data = new FloraData();
+                data.read(reader);
+                data.resolvePendingLinks();
+                return data;
+            } finally {
+                reader.close();
+            }
+        }
+    }
+    /**
+     * Walks the event stream. A genome takes the first id and evolutionFactor found inside it
+     * outside its links, and, as before, every element directly under a pair section is a pair
+     * holding a firstId and a secondId.
+     *
+     * @param reader Reader positioned at the start of the document
+     * @throws XMLStreamException If the document is not well-formed XML
+     */
+    private void read(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 0;
+        boolean inGenome = false;
+        boolean inLink = false;
+        String id = null;
+        String evolutionFactor = null;
+        String target = null;
+        String adaptationFactor = null;
+        List<Genome.Link> links = new ArrayList<>();
+
+        List<Pair> section = null;
+        int sectionDepth = -1;
+        String firstId = null;
+        String secondId = null;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                // text-only fields are read whole, which also consumes their end tag
+                if (inLink && name.equals("target") && target == null) {
+                    target = intern(reader.getElementText());
+                } else if (inLink && name.equals("adaptationFactor") && adaptationFactor == null) {
+                    adaptationFactor = reader.getElementText();
+                } else if (inGenome && !inLink && name.equals("id") && id == null) {
+                    id = intern(reader.getElementText());
+                } else if (inGenome && !inLink && name.equals("evolutionFactor") && evolutionFactor == null) {
+                    evolutionFactor = reader.getElementText();
+                } else if (section != null && depth > sectionDepth && name.equals("firstId") && firstId == null) {
+                    firstId = shared(reader.getElementText());
+                } else if (section != null && depth > sectionDepth && name.equals("secondId") && secondId == null) {
+                    secondId = shared(reader.getElementText());
+                } else {
+                    depth++;
+                    if (inGenome && name.equals("link")) {
+                        inLink = true;
+                        target = null;
+                        adaptationFactor = null;
+                    } else if (name.equals("genome")) {
+                        inGenome = true;
+                        id = null;
+                        evolutionFactor = null;
+                        links.clear();
+                    } else if (section != null && depth == sectionDepth + 1) {
+                        firstId = null;
+                        secondId = null;
+                    } else if (section == null && name.equals("possibleEvolutionPairs") && evolutionPairs == null) {
+                        section = evolutionPairs = new ArrayList<>();
+                        sectionDepth = depth;
+                    } else if (section == null && name.equals("possibleAdaptationPairs") && adaptationPairs == null) {
+                        section = adaptationPairs = new ArrayList<>();
+                        sectionDepth = depth;
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String name = reader.getLocalName();
+                if (inLink && name.equals("link")) {
+                    links.add(new Genome.Link(target, Integer.parseInt(adaptationFactor)));
+                    inLink = false;
+                } else if (inGenome && name.equals("genome")) {
+                    Genome genome = new Genome(id, Integer.parseInt(evolutionFactor));
+                    genome.links.addAll(links);
+                    addGenome(genome);
+                    inGenome = false;
+                } else if (section != null && depth == sectionDepth + 1) {
+                    section.add(new Pair(firstId, secondId));
+                } else if (section != null && depth == sectionDepth) {
+                    section = null;
+                }
+                depth--;
+            }
+        }
+    }
+    /**
+     * Adds a genome and merges its cluster with those of the genomes it links to.
+     * Links to IDs that are not known genomes yet are kept aside until {@link #resolvePendingLinks()}.
+     *
+     * @param genome Genome to be added
+     */
+    public void addGenome(Genome genome) {
+        genomes.put(genome.id, genome);
+        int source = index(genome.id);
+        declared.set(source);
+        for (Genome.Link link : genome.links) {
+            int target = index(link.target);
+            if (declared.get(target)) {
+                sets.union(source, target);
+            } else {
+                if (pendingSize == pendingLinks.length) {
+                    pendingLinks = Arrays.copyOf(pendingLinks, 2 * pendingSize);
+                }
+                pendingLinks[pendingSize++] = source;
+                pendingLinks[pendingSize++] = target;
+            }
+        }
+    }
+    /**
+     * Merges the clusters of the links kept aside by {@link #addGenome(Genome)} whose target turned
+     * out to be a genome. Links to IDs that never appear as a genome join nothing, so two genomes
+     * are not put in the same cluster just because they link to the same unknown ID.
+     */
+    public void resolvePendingLinks() {
+        for (int i = 0; i < pendingSize; i += 2) {
+            if (declared.get(pendingLinks[i + 1])) {
+                sets.union(pendingLinks[i], pendingLinks[i + 1]);
+            }
+        }
+        pendingLinks = new int[16];
+        pendingSize = 0;
+    }
+    /**
+     * Returns the cluster a genome belongs to, once every genome has been added.
+     *
+     * @param genomeId ID to be looked up
+     * @return Representative index of the genome's cluster, or -1 if there is no such genome
+     */
+    public int clusterOf(String genomeId) {
+        Integer index = indexOf.get(genomeId);
+        if (index == null || !declared.get(index)) return -1;
+        return sets.find(index);
+    }
+    /**
+     * Returns the index of an ID, giving it a new one in a set of its own if it was never seen.
+     *
+     * @param id Genome ID
+     * @return Index of the ID
+     */
+    private int index(String id) {
+        Integer index = indexOf.get(id);
+        if (index == null) {
+            index = sets.add();
+            indexOf.put(id, index);
+            ids.add(id);
+        }
+        return index;
+    }
+    /**
+     * Returns the shared copy of a genome ID, registering it if it was never seen.
+     *
+     * @param id Genome ID as read from the file
+     * @return An equal string, the same instance for every occurrence of the ID
+     */
+    private String intern(String id) {
+        if (id == null) return null;
+        return ids.get(index(id));
+    }
+    /**
+     * Returns the shared copy of a genome ID if it was seen, without registering it.
+     *
+     * @param id Genome ID as read from the file
+     * @return An equal string, the shared instance if there is one
+     */
+    private String shared(String id) {
+        Integer index = id == null ? null : indexOf.get(id);
+        return index == null ? id : ids.get(index);
+    }
+}
@@ -59,6 +59,7 @@ public class GenomeCluster {
 
             for (Genome.Link link : currentGenome.links) {
                 String neighborId = link.target;
+                if (!distances.containsKey(neighborId)) continue; // link to an unknown genome
                 int newDist = distances.get(currentId) + link.adaptationFactor;
                 if (newDist < distances.get(neighborId)) {
                     distances.put(neighborId, newDist);
@@ -0,0 +1,88 @@
+import java.util.Arrays;
+/**
+ * Disjoint-set forest over genome indices, used to find genome clusters while links are read.
+ * <p>
+ * Uses union by rank and path compression, so a sequence of operations on n genomes runs in
+ * O(n α(n)) time, which is linear for any practical n.
+ */
+public class GenomeUnionFind {
+    /** Parent of each element; a root is its own parent. */
+    private int[] parent = new int[16];
+    /** Upper bound on the height of the tree under each root. */
+    private byte[] rank = new byte[16];
+    /** Number of elements. */
+    private int size;
+    /** Number of disjoint sets. */
+    private int count;
+    /**
+     * Adds a new element in a set of its own.
+     *
+     * @return Index of the new element
+     */
+    public int add() {
+        if (size == parent.length) {
+            parent = Arrays.copyOf(parent, 2 * size);
+            rank = Arrays.copyOf(rank, 2 * size);
+        }
+        parent[size] = size;
+        count++;
+        return size++;
+    }
+    /**
+     * Finds the representative of the set containing an element, and points every element on
+     * the way directly at it.
+     *
+     * @param element Index of the element
+     * @return Index of the root of its set
+     */
+    public int find(int element) {
+        int root = element;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[element] != root) {
+            int next = parent[element];
+            parent[element] = root;
+            element = next;
+        }
+        return root;
+    }
+    /**
+     * Merges the sets of two elements, hanging the shorter tree under the taller one.
+     *
+     * @param a Index of the first element
+     * @param b Index of the second element
+     * @return true if the elements were in different sets, false otherwise
+     */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) return false;
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else if (rank[rootA] > rank[rootB]) {
+            parent[rootB] = rootA;
+        } else {
+            parent[rootB] = rootA;
+            rank[rootA]++;
+        }
+        count--;
+        return true;
+    }
+    /**
+     * Returns the number of elements.
+     *
+     * @return Number of elements added so far
+     */
+    public int size() {
+        return size;
+    }
+    /**
+     * Returns the number of disjoint sets.
+     *
+     * @return Number of sets
+     */
+    public int count() {
+        return count;
+    }
+}